@@ -0,0 +1,91 @@
+package com.mycompany.myapp.aop.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Logging done by the advices of {@link LoggingAspect} and {@link LoggableAspect}.
+ *
+ * The loggers are looked up once per declaring type, and the profiles once, so a call whose logger is not at debug level only
+ * costs a map lookup on top of the proxy.
+ */
+final class JoinPointLogger {
+
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+
+    private final boolean development;
+
+    private final int sampleRate;
+
+    /**
+     * @param env environment, to log the stack traces in development only.
+     * @param sampleRate the entry and exit of one call in {@code sampleRate} are logged, all of them with {@code 1}.
+     */
+    JoinPointLogger(Environment env, int sampleRate) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /**
+     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     *
+     * @param joinPoint join point we want the logger for.
+     * @return {@link Logger} associated to the given {@link JoinPoint}.
+     */
+    private Logger logger(JoinPoint joinPoint) {
+        String declaringTypeName = joinPoint.getSignature().getDeclaringTypeName();
+        Logger logger = loggers.get(declaringTypeName);
+        return logger != null ? logger : loggers.computeIfAbsent(declaringTypeName, LoggerFactory::getLogger);
+    }
+
+    private boolean sampled() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
+        if (development) {
+            logger(joinPoint)
+                .error(
+                    "Exception in {}() with cause = \'{}\' and exception = \'{}\'",
+                    joinPoint.getSignature().getName(),
+                    e.getCause() != null ? e.getCause() : "NULL",
+                    e.getMessage(),
+                    e
+                );
+        } else {
+            logger(joinPoint)
+                .error(
+                    "Exception in {}() with cause = {}",
+                    joinPoint.getSignature().getName(),
+                    e.getCause() != null ? e.getCause() : "NULL"
+                );
+        }
+    }
+
+    Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        Logger log = logger(joinPoint);
+        boolean debug = log.isDebugEnabled() && sampled();
+        if (debug) {
+            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        }
+        try {
+            Object result = joinPoint.proceed();
+            if (debug) {
+                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            throw e;
+        }
+    }
+}
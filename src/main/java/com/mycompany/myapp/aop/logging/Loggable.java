@@ -0,0 +1,15 @@
+package com.mycompany.myapp.aop.logging;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the types and methods logged by {@link LoggableAspect}, when {@code application.logging.aspect} is {@code annotated}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Loggable {}
@@ -0,0 +1,55 @@
+package com.mycompany.myapp.aop.logging;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.env.Environment;
+
+/**
+ * Aspect for logging execution of the types and methods annotated with {@link Loggable}, the other beans are not proxied.
+ *
+ * It runs when {@code application.logging.aspect} is {@code annotated}.
+ */
+@Aspect
+public class LoggableAspect {
+
+    private final JoinPointLogger joinPointLogger;
+
+    public LoggableAspect(Environment env, int sampleRate) {
+        this.joinPointLogger = new JoinPointLogger(env, sampleRate);
+    }
+
+    /**
+     * Pointcut that matches the methods of the types annotated with {@link Loggable}, and the methods annotated with it.
+     */
+    @Pointcut("@within(com.mycompany.myapp.aop.logging.Loggable) || @annotation(com.mycompany.myapp.aop.logging.Loggable)")
+    public void loggablePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that logs methods throwing exceptions.
+     *
+     * @param joinPoint join point for advice.
+     * @param e exception.
+     */
+    @AfterThrowing(pointcut = "loggablePointcut()", throwing = "e")
+    public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
+        joinPointLogger.logAfterThrowing(joinPoint, e);
+    }
+
+    /**
+     * Advice that logs when a method is entered and exited.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable throws {@link IllegalArgumentException}.
+     */
+    @Around("loggablePointcut()")
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        return joinPointLogger.logAround(joinPoint);
+    }
+}
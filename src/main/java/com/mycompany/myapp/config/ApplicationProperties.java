@@ -1,6 +1,10 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to TFG Vol 2.
@@ -9,4 +13,253 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Export export = new Export();
+
+    private final Cache cache = new Cache();
+
+    private final Logging logging = new Logging();
+
+    private final Search search = new Search();
+
+    private final InventorySnapshot inventorySnapshot = new InventorySnapshot();
+
+    private final VentaStats ventaStats = new VentaStats();
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public InventorySnapshot getInventorySnapshot() {
+        return inventorySnapshot;
+    }
+
+    public VentaStats getVentaStats() {
+        return ventaStats;
+    }
+
+    public static class Export {
+
+        /**
+         * Rows fetched per round trip while streaming an export. MySQL only honours it with {@code useCursorFetch=true}.
+         */
+        private int fetchSize = 500;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tier, required as soon as a region has one.
+         */
+        private String diskPath;
+
+        /**
+         * Sizing of the cache regions, by name; names containing dots are written as {@code '[com.mycompany.myapp.domain.Venta.coches]'}.
+         * Regions which are not listed use {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Entries kept on the heap, defaults to {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long maxEntries;
+
+            /**
+             * Defaults to {@code jhipster.cache.ehcache.time-to-live-seconds}; {@code 0} means the entries never expire.
+             */
+            private Integer timeToLiveSeconds;
+
+            /**
+             * Optional off-heap tier, outside of the garbage collected heap. It counts against {@code -XX:MaxDirectMemorySize}.
+             */
+            private DataSize offHeap;
+
+            /**
+             * Optional disk tier, stored under {@code application.cache.disk-path}.
+             */
+            private DataSize disk;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public DataSize getDisk() {
+                return disk;
+            }
+
+            public void setDisk(DataSize disk) {
+                this.disk = disk;
+            }
+        }
+    }
+
+    public static class Logging {
+
+        /**
+         * Beans whose calls are logged at debug level: {@code all} the repositories, services and REST controllers,
+         * only the ones {@code annotated} with {@code @Loggable}, or {@code none}, which proxies no bean for logging.
+         * No bean is annotated with {@code @Loggable} out of the box: {@code annotated} is opt-in per class or method, and logs
+         * nothing until the types to follow are annotated.
+         */
+        private Aspect aspect = Aspect.NONE;
+
+        /**
+         * The entry and exit of one call in {@code sample-rate} are logged, {@code 1} logs all of them.
+         */
+        private int sampleRate = 1;
+
+        public Aspect getAspect() {
+            return aspect;
+        }
+
+        public void setAspect(Aspect aspect) {
+            this.aspect = aspect;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public enum Aspect {
+            NONE,
+            ALL,
+            ANNOTATED,
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Whether the substring filters on the vehicle marca, modelo and color are narrowed with the in-memory trigram index. The
+         * index only sees the writes of this instance, so it must stay disabled when the vehicles are written by other instances.
+         * The marca, modelo and color indexes the narrowed queries seek on are only created in the {@code search} Liquibase
+         * context, which has to be added to {@code spring.liquibase.contexts} along with this flag.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Distinct values a substring may match for the index to narrow the query; above it the filter is left to {@code like}.
+         */
+        private int maxValues = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxValues() {
+            return maxValues;
+        }
+
+        public void setMaxValues(int maxValues) {
+            this.maxValues = maxValues;
+        }
+    }
+
+    public static class InventorySnapshot {
+
+        /**
+         * Whether the coche and moto filter endpoints are answered from an in-memory columnar copy of the vehicles.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Rows from which a filter is evaluated in parallel on the common fork-join pool.
+         */
+        private int parallelThreshold = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+
+    public static class VentaStats {
+
+        /**
+         * Delay between two compactions of the venta rollup deltas, in ISO-8601 ({@code PT1M}) as it is read by {@code @Scheduled}.
+         */
+        private Duration compactInterval = Duration.ofMinutes(1);
+
+        public Duration getCompactInterval() {
+            return compactInterval;
+        }
+
+        public void setCompactInterval(Duration compactInterval) {
+            this.compactInterval = compactInterval;
+        }
+    }
+}
@@ -1,9 +1,24 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.repository.FilterQueryCache;
+import com.mycompany.myapp.service.PaginationService;
+import java.io.File;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -19,20 +34,40 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final long UPDATE_TIMESTAMPS_MAX_ENTRIES = 1000;
+
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
+    private final Map<String, String> tiers = new LinkedHashMap<>();
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
+    /**
+     * The JCache manager Spring Boot would create, plus the persistence directory the disk tiers need and the
+     * {@link CacheTierStatistics} service.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultConfiguration configuration = cacheProperties.getDiskPath() == null
+            ? new DefaultConfiguration(provider.getDefaultClassLoader(), CacheTierStatistics.CONFIGURATION)
+            : new DefaultConfiguration(
+                provider.getDefaultClassLoader(),
+                CacheTierStatistics.CONFIGURATION,
+                new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath()))
             );
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -57,17 +92,94 @@ public class CacheConfiguration {
             createCache(cm, com.mycompany.myapp.domain.Venta.class.getName());
             createCache(cm, com.mycompany.myapp.domain.Venta.class.getName() + ".coches");
             createCache(cm, com.mycompany.myapp.domain.Venta.class.getName() + ".motos");
+            createCache(cm, PaginationService.FILTER_COUNTS_CACHE);
+            createCache(cm, FilterQueryCache.REGION);
+            createCache(cm, com.mycompany.myapp.service.ClienteService.CLIENTES_BY_ID_CACHE);
+            createCache(cm, com.mycompany.myapp.service.CocheService.COCHES_BY_ID_CACHE);
+            createCache(cm, com.mycompany.myapp.service.EmpleadoService.EMPLEADOS_BY_ID_CACHE);
+            createCache(cm, com.mycompany.myapp.service.MotoService.MOTOS_BY_ID_CACHE);
+            createCache(cm, com.mycompany.myapp.service.VentaService.VENTAS_BY_ID_CACHE);
+            // One entry per table; an expired or evicted timestamp would let stale query results be served
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, UPDATE_TIMESTAMPS_MAX_ENTRIES, 0);
             // jhipster-needle-ehcache-add-entry
+            logTiers();
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, ehcache.getMaxEntries(), ehcache.getTimeToLiveSeconds());
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, long defaultMaxEntries, int defaultTimeToLiveSeconds) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            CacheConfigurationBuilder<Object, Object> configuration = createConfiguration(
+                cacheName,
+                defaultMaxEntries,
+                defaultTimeToLiveSeconds
+            );
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build()));
+        }
+        // Feeds the cache.gets{result=hit|miss}, cache.puts and cache.evictions meters Spring Boot binds to every cache
+        cm.enableStatistics(cacheName, true);
+    }
+
+    //Cada region usa su propio tamaño si esta en application.cache.regions, y el de jhipster.cache.ehcache si no
+    private CacheConfigurationBuilder<Object, Object> createConfiguration(
+        String cacheName,
+        long defaultMaxEntries,
+        int defaultTimeToLiveSeconds
+    ) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().getOrDefault(cacheName, DEFAULT_REGION);
+        long maxEntries = region.getMaxEntries() != null ? region.getMaxEntries() : defaultMaxEntries;
+        int timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : defaultTimeToLiveSeconds;
+
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.heap(maxEntries);
+        if (region.getOffHeap() != null) {
+            pools = pools.offheap(region.getOffHeap().toKilobytes(), MemoryUnit.KB);
         }
+        if (region.getDisk() != null) {
+            if (cacheProperties.getDiskPath() == null) {
+                throw new IllegalStateException("Cache " + cacheName + " has a disk tier, but application.cache.disk-path is not set");
+            }
+            pools = pools.disk(region.getDisk().toKilobytes(), MemoryUnit.KB);
+        }
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, pools)
+            .withExpiry(
+                timeToLiveSeconds == 0
+                    ? ExpiryPolicyBuilder.noExpiration()
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds))
+            );
+        if (region.getOffHeap() != null || region.getDisk() != null) {
+            // Entries leaving the heap are stored serialized; Hibernate and Spring cache entries are all Serializable
+            ClassLoader classLoader = CacheConfiguration.class.getClassLoader();
+            configuration =
+                configuration
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+
+        tiers.put(
+            cacheName,
+            String.format(
+                "heap=%d entries, off-heap=%s, disk=%s, ttl=%s",
+                maxEntries,
+                region.getOffHeap() != null ? region.getOffHeap() : "-",
+                region.getDisk() != null ? region.getDisk() : "-",
+                timeToLiveSeconds == 0 ? "none" : timeToLiveSeconds + "s"
+            )
+        );
+        return configuration;
+    }
+
+    private void logTiers() {
+        StringBuilder report = new StringBuilder();
+        tiers.forEach((cacheName, tier) -> report.append(System.lineSeparator()).append("  ").append(cacheName).append(": ").append(tier));
+        log.info("Cache regions:{}", report);
+        tiers.clear();
     }
 
     @Autowired(required = false)
@@ -0,0 +1,246 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint describing the cache regions created by {@link CacheConfiguration}, at {@code /management/cacheregions}.
+ * <p>
+ * For every region it reports the number of entries held by each Ehcache tier, the hits, misses, puts and evictions of the
+ * {@code cache.*} meters, and the second-level cache requests Hibernate saw for it, so the sizing of
+ * {@code application.cache.regions} can be checked against the actual traffic. The entry counts come from the tier statistics
+ * of {@link CacheTierStatistics}, so describing a region never reads its off-heap or disk tiers.
+ * <p>
+ * {@code /management/cacheregions/{name}} adds the first keys the region iterates. Ehcache does not record hits per key, so they
+ * are in no particular order and say nothing about which entries are the most used. Ehcache counts every key read this way as a
+ * hit of the region.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    private static final int FIRST_KEYS = 20;
+
+    //Del tier mas bajo al mas alto
+    private static final List<String> TIERS = List.of("Disk", "OffHeap", "OnHeap");
+
+    private final CacheManager cacheManager;
+
+    private final MeterRegistry meterRegistry;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheRegionsEndpoint(CacheManager cacheManager, MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public List<CacheRegion> regions() {
+        return StreamSupport
+            .stream(cacheManager.getCacheNames().spliterator(), false)
+            .sorted()
+            .map(name -> describe(name, 0))
+            .collect(Collectors.toList());
+    }
+
+    @ReadOperation
+    public CacheRegion region(@Selector String name) {
+        if (cacheManager.getCache(name) == null) {
+            return null;
+        }
+        return describe(name, FIRST_KEYS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRegion describe(String name, int firstKeys) {
+        CacheRegion region = new CacheRegion(name);
+        org.ehcache.Cache<Object, Object> cache = cacheManager.getCache(name).unwrap(org.ehcache.Cache.class);
+        // Los tiers son inclusivos: el mas bajo (disco, off-heap o heap) contiene todas las entradas de la region
+        region.getTierSizes().putAll(CacheTierStatistics.INSTANCE.tierSizes(name));
+        TIERS
+            .stream()
+            .filter(region.getTierSizes()::containsKey)
+            .findFirst()
+            .ifPresent(tier -> region.setSize(region.getTierSizes().get(tier)));
+        region.setHits(count("cache.gets", name, "hit"));
+        region.setMisses(count("cache.gets", name, "miss"));
+        region.setPuts(count("cache.puts", name, null));
+        region.setEvictions(count("cache.evictions", name, null));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics hibernate = statistics.isStatisticsEnabled() ? hibernateStatistics(statistics, name) : null;
+        if (hibernate != null) {
+            region.setHibernateHits(hibernate.getHitCount());
+            region.setHibernateMisses(hibernate.getMissCount());
+            region.setHibernatePuts(hibernate.getPutCount());
+        }
+        // Ehcache cuenta cada entrada recorrida como un acierto, asi que las claves se leen despues de los contadores
+        Iterator<org.ehcache.Cache.Entry<Object, Object>> entries = cache.iterator();
+        while (region.getFirstKeys().size() < firstKeys && entries.hasNext()) {
+            region.getFirstKeys().add(String.valueOf(entries.next().getKey()));
+        }
+        return region;
+    }
+
+    private static CacheRegionStatistics hibernateStatistics(Statistics statistics, String name) {
+        try {
+            return statistics.getCacheRegionStatistics(name);
+        } catch (IllegalArgumentException e) {
+            // A Spring cache, not a Hibernate region
+            return null;
+        }
+    }
+
+    private Long count(String meter, String cacheName, String result) {
+        FunctionCounter counter = result == null
+            ? meterRegistry.find(meter).tag("cache", cacheName).functionCounter()
+            : meterRegistry.find(meter).tags("cache", cacheName, "result", result).functionCounter();
+        return counter == null ? null : (long) counter.count();
+    }
+
+    /**
+     * Statistics of a cache region; counts are {@code null} when they are not recorded.
+     */
+    public static class CacheRegion {
+
+        private final String name;
+
+        private long size;
+
+        private Long hits;
+
+        private Long misses;
+
+        private Long puts;
+
+        private Long evictions;
+
+        private Long hibernateHits;
+
+        private Long hibernateMisses;
+
+        private Long hibernatePuts;
+
+        private final Map<String, Long> tierSizes = new LinkedHashMap<>();
+
+        private final List<String> firstKeys = new ArrayList<>();
+
+        public CacheRegion(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the entries of the region, as counted by its authoritative (lowest) tier.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public Long getHits() {
+            return hits;
+        }
+
+        public void setHits(Long hits) {
+            this.hits = hits;
+        }
+
+        public Long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(Long misses) {
+            this.misses = misses;
+        }
+
+        /**
+         * @return the share of the reads served by the region, or {@code null} before the first read.
+         */
+        public Double getHitRatio() {
+            if (hits == null || misses == null || hits + misses == 0) {
+                return null;
+            }
+            return (double) hits / (hits + misses);
+        }
+
+        public Long getPuts() {
+            return puts;
+        }
+
+        public void setPuts(Long puts) {
+            this.puts = puts;
+        }
+
+        public Long getEvictions() {
+            return evictions;
+        }
+
+        public void setEvictions(Long evictions) {
+            this.evictions = evictions;
+        }
+
+        public Long getHibernateHits() {
+            return hibernateHits;
+        }
+
+        public void setHibernateHits(Long hibernateHits) {
+            this.hibernateHits = hibernateHits;
+        }
+
+        public Long getHibernateMisses() {
+            return hibernateMisses;
+        }
+
+        public void setHibernateMisses(Long hibernateMisses) {
+            this.hibernateMisses = hibernateMisses;
+        }
+
+        public Long getHibernatePuts() {
+            return hibernatePuts;
+        }
+
+        public void setHibernatePuts(Long hibernatePuts) {
+            this.hibernatePuts = hibernatePuts;
+        }
+
+        /**
+         * @return the entries held by each tier of the region, keyed by the Ehcache tier name ({@code OnHeap}, {@code OffHeap}
+         * or {@code Disk}).
+         */
+        public Map<String, Long> getTierSizes() {
+            return tierSizes;
+        }
+
+        /**
+         * @return the first keys of the region in iteration order, which is not related to how often they are read.
+         */
+        public List<String> getFirstKeys() {
+            return firstKeys;
+        }
+    }
+}
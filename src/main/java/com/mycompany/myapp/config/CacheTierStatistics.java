@@ -0,0 +1,80 @@
+package com.mycompany.myapp.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.ehcache.core.spi.service.ServiceFactory;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
+import org.ehcache.spi.service.ServiceDependencies;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Ehcache service giving access to the {@link StatisticsService} of the cache manager, which Ehcache only hands to the services
+ * it starts. {@link CacheConfiguration} adds {@link #CONFIGURATION} to the cache manager and {@link Factory} is registered in
+ * {@code META-INF/services}, so the cache manager starts {@link #INSTANCE} along with its own services.
+ * <p>
+ * The Ehcache caching provider keeps one cache manager per URI and class loader for the whole JVM, and the application contexts
+ * which share it share this service too.
+ */
+@ServiceDependencies(StatisticsService.class)
+public final class CacheTierStatistics implements Service {
+
+    public static final CacheTierStatistics INSTANCE = new CacheTierStatistics();
+
+    public static final ServiceCreationConfiguration<CacheTierStatistics, Void> CONFIGURATION = () -> CacheTierStatistics.class;
+
+    private volatile StatisticsService statisticsService;
+
+    private CacheTierStatistics() {}
+
+    @Override
+    public void start(ServiceProvider<Service> serviceProvider) {
+        statisticsService = serviceProvider.getService(StatisticsService.class);
+    }
+
+    @Override
+    public void stop() {
+        statisticsService = null;
+    }
+
+    /**
+     * @param cacheName the name of the cache.
+     * @return the entries held by each tier of the cache, keyed by the Ehcache tier name ({@code OnHeap}, {@code OffHeap} or
+     * {@code Disk}), or an empty map if the cache manager isn't started or doesn't hold the cache.
+     */
+    public Map<String, Long> tierSizes(String cacheName) {
+        StatisticsService service = statisticsService;
+        if (service == null) {
+            return Collections.emptyMap();
+        }
+        CacheStatistics statistics;
+        try {
+            statistics = service.getCacheStatistics(cacheName);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        statistics.getTierStatistics().forEach((tier, tierStatistics) -> sizes.put(tier, tierStatistics.getMappings()));
+        return sizes;
+    }
+
+    /**
+     * Hands {@link #INSTANCE} to the cache managers whose configuration includes {@link #CONFIGURATION}.
+     */
+    @ServiceFactory.RequiresConfiguration
+    public static class Factory implements ServiceFactory<CacheTierStatistics> {
+
+        @Override
+        public CacheTierStatistics create(ServiceCreationConfiguration<CacheTierStatistics, ?> configuration) {
+            return INSTANCE;
+        }
+
+        @Override
+        public Class<CacheTierStatistics> getServiceType() {
+            return CacheTierStatistics.class;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.config;
 
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -13,4 +16,14 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableJpaRepositories("com.mycompany.myapp.repository")
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Counts the statements and rows of every thread, for the request metrics of {@link ResourceMetricsConfiguration}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statisticsPropertiesCustomizer() {
+        StatisticsFactory statisticsFactory = ThreadLocalStatistics::new;
+        return hibernateProperties -> hibernateProperties.put(StatisticsInitiator.STATS_BUILDER, statisticsFactory);
+    }
+}
@@ -1,17 +1,28 @@
 package com.mycompany.myapp.config;
 
+import com.mycompany.myapp.aop.logging.LoggableAspect;
 import com.mycompany.myapp.aop.logging.LoggingAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
-import tech.jhipster.config.JHipsterConstants;
 
+/**
+ * Registers the logging aspect selected by {@code application.logging.aspect}. With {@code none}, the default and the value of
+ * the "prod" profile, no aspect is registered, so no bean is proxied for logging.
+ */
 @Configuration
 @EnableAspectJAutoProxy
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    @ConditionalOnProperty(prefix = "application.logging", name = "aspect", havingValue = "all")
+    public LoggingAspect loggingAspect(Environment env, ApplicationProperties applicationProperties) {
+        return new LoggingAspect(env, applicationProperties.getLogging().getSampleRate());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.logging", name = "aspect", havingValue = "annotated")
+    public LoggableAspect loggableAspect(Environment env, ApplicationProperties applicationProperties) {
+        return new LoggableAspect(env, applicationProperties.getLogging().getSampleRate());
     }
 }
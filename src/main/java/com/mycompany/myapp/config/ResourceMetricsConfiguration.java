@@ -0,0 +1,34 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.web.rest.util.ResourceMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link ResourceMetricsInterceptor} on the REST API. The JDBC statements and rows it records are counted by
+ * {@link ThreadLocalStatistics}, so those meters are only published while {@code hibernate.generate_statistics} is
+ * {@code true}, as in the {@code dev} and {@code prod} profiles.
+ */
+@Configuration
+public class ResourceMetricsConfiguration implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ResourceMetricsConfiguration(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        registry.addInterceptor(new ResourceMetricsInterceptor(meterRegistry, statistics)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.myapp.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics which also count, for the current thread, the JDBC statements prepared and the entities read from the
+ * result sets, so the cost of a single request can be measured by taking the difference of {@link #statementCount()} and
+ * {@link #rowCount()} before and after it. Like the global statistics, they are only fed when
+ * {@code hibernate.generate_statistics} is {@code true}.
+ * <p>
+ * The public {@link org.hibernate.stat.Statistics} API only exposes global totals, so this class extends
+ * {@link StatisticsImpl}, which is internal to Hibernate ORM. Its constructor and the {@code prepareStatement()} and
+ * {@code loadEntity(String)} callbacks overridden here are those of Hibernate 5.4, the version managed by Spring Boot 2.4: they
+ * have to be checked again whenever Hibernate is upgraded.
+ */
+public class ThreadLocalStatistics extends StatisticsImpl {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final int STATEMENTS = 0;
+
+    private static final int ROWS = 1;
+
+    public ThreadLocalStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    /**
+     * @return the JDBC statements prepared by the current thread since it started.
+     */
+    public static long statementCount() {
+        return COUNTS.get()[STATEMENTS];
+    }
+
+    /**
+     * @return the entities read from JDBC result sets by the current thread since it started.
+     */
+    public static long rowCount() {
+        return COUNTS.get()[ROWS];
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        COUNTS.get()[STATEMENTS]++;
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        COUNTS.get()[ROWS]++;
+    }
+}
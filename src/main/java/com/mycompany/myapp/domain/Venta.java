@@ -1,12 +1,14 @@
 package com.mycompany.myapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -16,12 +18,14 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "venta")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 20)
 public class Venta implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     private Long id;
 
     @NotNull
@@ -32,13 +36,29 @@ public class Venta implements Serializable {
     @Column(name = "fecha")
     private Instant fecha;
 
+    /**
+     * Number of coches and motos of the venta, kept by the service which reassigns them.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "vehicle_count", nullable = false)
+    private Integer vehicleCount = 0;
+
+    /**
+     * Sum of the precio of the coches and motos of the venta, kept by the service which reassigns them.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "computed_total", nullable = false)
+    private Double computedTotal = 0D;
+
     @OneToMany(mappedBy = "venta")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "venta" }, allowSetters = true)
     private Set<Coche> coches = new HashSet<>();
 
     @OneToMany(mappedBy = "venta")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @BatchSize(size = 20)
     @JsonIgnoreProperties(value = { "venta" }, allowSetters = true)
     private Set<Moto> motos = new HashSet<>();
 
@@ -90,6 +110,32 @@ public class Venta implements Serializable {
         this.fecha = fecha;
     }
 
+    public Integer getVehicleCount() {
+        return this.vehicleCount;
+    }
+
+    public Venta vehicleCount(Integer vehicleCount) {
+        this.vehicleCount = vehicleCount;
+        return this;
+    }
+
+    public void setVehicleCount(Integer vehicleCount) {
+        this.vehicleCount = vehicleCount;
+    }
+
+    public Double getComputedTotal() {
+        return this.computedTotal;
+    }
+
+    public Venta computedTotal(Double computedTotal) {
+        this.computedTotal = computedTotal;
+        return this;
+    }
+
+    public void setComputedTotal(Double computedTotal) {
+        this.computedTotal = computedTotal;
+    }
+
     public Set<Coche> getCoches() {
         return this.coches;
     }
@@ -204,6 +250,8 @@ public class Venta implements Serializable {
             "id=" + getId() +
             ", total=" + getTotal() +
             ", fecha='" + getFecha() + "'" +
+            ", vehicleCount=" + getVehicleCount() +
+            ", computedTotal=" + getComputedTotal() +
             "}";
     }
 }
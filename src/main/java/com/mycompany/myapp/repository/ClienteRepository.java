@@ -1,10 +1,14 @@
 package com.mycompany.myapp.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.mycompany.myapp.domain.Cliente;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,30 +17,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-    @Query(
-        value = "select cliente from Cliente cliente where cliente.id like concat('%',:id,'%')" +
-        "and cliente.nombre like concat('%',:nombre,'%')" +
-        "and cliente.apellidos like concat('%',:apellidos,'%')" +
-        "and cliente.dni like concat('%',:dni,'%')"
-    )
-    Page<Cliente> getClientsByFilter(
-        @Param("id") Long id,
-        @Param("nombre") String nombre,
-        @Param("apellidos") String apellidos,
-        @Param("dni") String dni,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select cliente from Cliente cliente where cliente.nombre like concat('%',:nombre,'%')" +
-        "and cliente.apellidos like concat('%',:apellidos,'%')" +
-        "and cliente.dni like concat('%',:dni,'%')"
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
+    //Consulta de los filtros: su resultado se guarda en la cache de consultas si hibernate.cache.use_query_cache esta activo
+    @QueryHints(
+        { @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = FilterQueryCache.REGION) }
     )
-    Page<Cliente> getClientsByFilter(
-        @Param("nombre") String nombre,
-        @Param("apellidos") String apellidos,
-        @Param("dni") String dni,
-        Pageable pageable
-    );
+    Page<Cliente> findAll(Specification<Cliente> spec, Pageable pageable);
 }
@@ -1,10 +1,15 @@
 package com.mycompany.myapp.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.mycompany.myapp.domain.Coche;
-import java.time.Instant;
+import java.util.Collection;
 import java.util.Set;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,339 +20,33 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CocheRepository extends JpaRepository<Coche, Long> {
+public interface CocheRepository extends JpaRepository<Coche, Long>, JpaSpecificationExecutor<Coche> {
     @Query("select coche from Coche coche where coche.venta.id =:ventaId")
     Set<Coche> getCochesByVentaId(@Param("ventaId") Long ventaId);
 
-    @Modifying
-    @Query("update Coche c set c.venta = null")
-    void updateAllCocheDeleteVenta();
-
-    @Modifying
-    @Query("update Coche c set c.venta.id =:ventaId where c.id =:cocheId")
-    void updateCocheSaveVentaByVentaIdAndCocheId(@Param("ventaId") Long ventaId, @Param("cocheId") Long cocheId);
-
-    @Modifying
-    @Query("update Coche c set c.venta = null where c.id =:cocheId")
-    void updateCocheDeleteVentaByCocheId(@Param("cocheId") Long cocheId);
-
-    @Modifying
-    @Query("update Coche c set c.venta = null where c.venta.id =:ventaId")
-    void updateCocheDeleteVentaByVentaId(@Param("ventaId") Long ventaId);
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)"
-    )
-    Page<Coche> getCarsByFilter(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        Pageable pageable
-    );
+    @Query("select c.id from Coche c where c.venta.id =:ventaId")
+    Set<Long> getCocheIdsByVentaId(@Param("ventaId") Long ventaId);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndVenta(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
+    @Query("select c.venta.id from Coche c where c.id =:cocheId")
+    Long getVentaIdByCocheId(@Param("cocheId") Long cocheId);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between (select min(precio) from Coche) and :precioF)"
-    )
-    Page<Coche> getCarsByFilterAndPrecioF(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioF") Double precioF,
-        Pageable pageable
-    );
+    @Query("select count(c) from Coche c where c.venta.id =:ventaId")
+    long countByVentaId(@Param("ventaId") Long ventaId);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between (select min(precio) from Coche) and :precioF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndPrecioFAndVenta(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioF") Double precioF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
+    @Query("select coalesce(sum(c.precio), 0) from Coche c where c.venta.id =:ventaId")
+    Double sumPrecioByVentaId(@Param("ventaId") Long ventaId);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and (select max(precio) from Coche))"
-    )
-    Page<Coche> getCarsByFilterAndPrecioI(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and (select max(precio) from Coche))" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndPrecioIAndVenta(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and :precioF)"
-    )
-    Page<Coche> getCarsByFilterAndPrecios(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("precioF") Double precioF,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and :precioF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndPreciosAndVenta(
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("precioF") Double precioF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)"
-    )
-    Page<Coche> getCarsByFilterAndId(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndIdAndVenta(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between (select min(precio) from Coche) and :precioF)"
-    )
-    Page<Coche> getCarsByFilterAndIdAndPrecioF(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioF") Double precioF,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between (select min(precio) from Coche) and :precioF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndIdAndPrecioFAndVenta(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioF") Double precioF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and (select max(precio) from Coche))"
-    )
-    Page<Coche> getCarsByFilterAndIdAndPrecioI(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and (select max(precio) from Coche))" +
-        "and coche.venta.id like concat('%',:venta,'%')"
-    )
-    Page<Coche> getCarsByFilterAndIdAndPrecioIAndVenta(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
+    @Modifying
+    @Query("update Coche c set c.venta.id =:ventaId where c.id in :cocheIds")
+    void updateCocheSaveVentaByVentaIdAndIds(@Param("ventaId") Long ventaId, @Param("cocheIds") Collection<Long> cocheIds);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and :precioF)"
-    )
-    Page<Coche> getCarsByFilterAndIdAndPrecios(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("precioF") Double precioF,
-        Pageable pageable
-    );
+    @Modifying
+    @Query("update Coche c set c.venta = null where c.venta.id =:ventaId and c.id in :cocheIds")
+    void updateCocheDeleteVentaByVentaIdAndIds(@Param("ventaId") Long ventaId, @Param("cocheIds") Collection<Long> cocheIds);
 
-    @Query(
-        value = "select coche from Coche coche where " +
-        "coche.id like concat('%',:id,'%')" +
-        "and coche.color like concat('%',:color,'%') " +
-        "and coche.modelo like concat('%',:modelo,'%') " +
-        "and coche.marca like concat('%',:marca,'%') " +
-        "and (coche.anio between :fechaI and :fechaF)" +
-        "and (coche.precio between :precioI and :precioF)" +
-        "and coche.venta.id like concat('%',:venta,'%')"
+    //Consulta de los filtros: su resultado se guarda en la cache de consultas si hibernate.cache.use_query_cache esta activo
+    @QueryHints(
+        { @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = FilterQueryCache.REGION) }
     )
-    Page<Coche> getCarsByFilterAndIdAndPreciosAndVenta(
-        @Param("id") Long id,
-        @Param("color") String color,
-        @Param("modelo") String modelo,
-        @Param("marca") String marca,
-        @Param("fechaI") Instant fechaI,
-        @Param("fechaF") Instant fechaF,
-        @Param("precioI") Double precioI,
-        @Param("precioF") Double precioF,
-        @Param("venta") Long venta,
-        Pageable pageable
-    );
+    Page<Coche> findAll(Specification<Coche> spec, Pageable pageable);
 }
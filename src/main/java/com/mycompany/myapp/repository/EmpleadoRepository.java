@@ -1,10 +1,14 @@
 package com.mycompany.myapp.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.mycompany.myapp.domain.Empleado;
+import javax.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,30 +17,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
-    @Query(
-        value = "select empleado from Empleado empleado where empleado.id like concat('%',:id,'%')" +
-        "and empleado.nombre like concat('%',:nombre,'%')" +
-        "and empleado.apellidos like concat('%',:apellidos,'%')" +
-        "and empleado.dni like concat('%',:dni,'%')"
-    )
-    Page<Empleado> getEmployeesByFilter(
-        @Param("id") Long id,
-        @Param("nombre") String nombre,
-        @Param("apellidos") String apellidos,
-        @Param("dni") String dni,
-        Pageable pageable
-    );
-
-    @Query(
-        value = "select empleado from Empleado empleado where empleado.nombre like concat('%',:nombre,'%')" +
-        "and empleado.apellidos like concat('%',:apellidos,'%')" +
-        "and empleado.dni like concat('%',:dni,'%')"
+public interface EmpleadoRepository extends JpaRepository<Empleado, Long>, JpaSpecificationExecutor<Empleado> {
+    //Consulta de los filtros: su resultado se guarda en la cache de consultas si hibernate.cache.use_query_cache esta activo
+    @QueryHints(
+        { @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = FilterQueryCache.REGION) }
     )
-    Page<Empleado> getEmployeesByFilter(
-        @Param("nombre") String nombre,
-        @Param("apellidos") String apellidos,
-        @Param("dni") String dni,
-        Pageable pageable
-    );
+    Page<Empleado> findAll(Specification<Empleado> spec, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Hibernate query cache region of the filter queries.
+ * <p>
+ * The filter queries of the repositories are marked cacheable in this region, so repeated filter combinations are answered with
+ * the cached ids and the second-level entity caches. It only takes effect with {@code hibernate.cache.use_query_cache: true}: every
+ * write to a table then invalidates the cached results that read it, through the update timestamps region.
+ */
+public final class FilterQueryCache {
+
+    public static final String REGION = "filterQueries";
+
+    private FilterQueryCache() {}
+}
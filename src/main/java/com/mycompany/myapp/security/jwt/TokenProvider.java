@@ -5,7 +5,11 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +29,11 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    /**
+     * Upper bound of {@link #verifiedTokens}; once reached, tokens are verified on every request until some of them expire.
+     */
+    static final int MAX_VERIFIED_TOKENS = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -33,6 +42,9 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    //Tokens ya verificados, por el hash SHA-256 del token, hasta que caducan
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     public TokenProvider(JHipsterProperties jHipsterProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getSecret();
@@ -75,16 +87,7 @@ public class TokenProvider {
 
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
-
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new VerifiedToken(claims).toAuthentication(token);
     }
 
     public boolean validateToken(String authToken) {
@@ -97,4 +100,96 @@ public class TokenProvider {
         }
         return false;
     }
+
+    /**
+     * Validates a token and builds its authentication, parsing and verifying the signature only once.
+     * <p>
+     * Verified tokens are remembered until they expire, so the following requests carrying the same token skip the verification.
+     *
+     * @param token the JWT token.
+     * @return the authentication of the token, or empty if it is not valid.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String hash = hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = verifiedTokens.get(hash);
+        if (verified != null && verified.isValid(token, now)) {
+            return Optional.of(verified.toAuthentication(token));
+        }
+        try {
+            verified = new VerifiedToken(jwtParser.parseClaimsJws(token).getBody(), token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+            return Optional.empty();
+        }
+        remember(hash, verified, now);
+        return Optional.of(verified.toAuthentication(token));
+    }
+
+    private void remember(String hash, VerifiedToken verified, long now) {
+        if (verified.expiresAt == Long.MAX_VALUE) {
+            // Tokens without expiration are never issued by createToken, and are not worth keeping
+            return;
+        }
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+        if (verifiedTokens.size() < MAX_VERIFIED_TOKENS) {
+            verifiedTokens.put(hash, verified);
+        }
+    }
+
+    int verifiedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The claims of a verified token, from which a new authentication is built for every request.
+     */
+    private static final class VerifiedToken {
+
+        private final String token;
+
+        private final String subject;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims) {
+            this(claims, null);
+        }
+
+        private VerifiedToken(Claims claims, String token) {
+            this.token = token;
+            this.subject = claims.getSubject();
+            this.authorities =
+                Arrays
+                    .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                    .filter(auth -> !auth.trim().isEmpty())
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toUnmodifiableList());
+            this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        }
+
+        // Comparing the token itself rules out a hash collision
+        private boolean isValid(String token, long now) {
+            return now < expiresAt && this.token.equals(token);
+        }
+
+        private Authentication toAuthentication(String token) {
+            User principal = new User(subject, "", authorities);
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        }
+    }
 }
@@ -1,14 +1,25 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Cliente;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 /**
  * Service Interface for managing {@link Cliente}.
  */
 public interface ClienteService {
+    /**
+     * Cache of the snapshots read by {@link #findOne(Long)}, by id.
+     */
+    String CLIENTES_BY_ID_CACHE = "clientesById";
+
     /**
      * Save a cliente.
      *
@@ -47,10 +58,43 @@ public interface ClienteService {
      * @param nombre the nombre of the entity.
      * @param apellidos the apellidos of the entity.
      * @param dni the dni of the entity.
+     * @param idMatch how the id filter is matched.
+     * @param countMode how the matching entities are counted.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    Page<Cliente> getClientsByFilter(Long id, String nombre, String apellidos, String dni, Pageable pageable);
+    Slice<Cliente> getClientsByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        CountMode countMode,
+        Pageable pageable
+    );
+
+    /**
+     * Export the clientes matching the filter, one row at a time.
+     * @param id the id of the entity.
+     * @param nombre the nombre of the entity.
+     * @param apellidos the apellidos of the entity.
+     * @param dni the dni of the entity.
+     * @param idMatch how the id filter is matched.
+     * @param sort the order of the rows.
+     * @param format the format of the rows.
+     * @param out the stream the rows are written to.
+     * @throws IOException if the rows can't be written.
+     */
+    void exportClientsByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException;
 
     /**
      * Delete the "id" cliente.
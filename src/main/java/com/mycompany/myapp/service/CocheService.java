@@ -1,15 +1,27 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.CocheSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 /**
  * Service Interface for managing {@link Coche}.
  */
 public interface CocheService {
+    /**
+     * Cache of the snapshots read by {@link #findOne(Long)}, by id.
+     */
+    String COCHES_BY_ID_CACHE = "cochesById";
+
     /**
      * Save a coche.
      *
@@ -34,6 +46,14 @@ public interface CocheService {
      */
     Page<Coche> findAll(Pageable pageable);
 
+    /**
+     * Get the summaries of all the coches.
+     *
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    Page<CocheSummaryDTO> findAllSummaries(Pageable pageable);
+
     /**
      * Get the "id" coche.
      *
@@ -52,11 +72,43 @@ public interface CocheService {
      * @param precioI the precioInicial of the entity.
      * @param precioF the precioFinal of the entity.
      * @param venta the venta of the entity.
+     * @param idMatch how the id and venta filters are matched.
+     * @param countMode how the matching entities are counted.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    Page<Coche> getCarsByFilter(
-        Long id,
+    Slice<Coche> getCarsByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        CountMode countMode,
+        Pageable pageable
+    );
+
+    /**
+     * Get the coches matching the filter with keyset pagination: the slice following the cursor, without counting them.
+     * @param id the id of the entity.
+     * @param color the color of the entity.
+     * @param modelo the modelo of the entity.
+     * @param marca the marca of the entity.
+     * @param fecha the fecha of the entity(Range).
+     * @param precioI the precioInicial of the entity.
+     * @param precioF the precioFinal of the entity.
+     * @param venta the venta of the entity.
+     * @param idMatch how the id and venta filters are matched.
+     * @param cursor the cursor of the previous slice, empty for the first one.
+     * @param pageable the size and sort of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     */
+    KeysetSlice<Coche> getCarsByFilterAfter(
+        List<Long> id,
         String color,
         String modelo,
         String marca,
@@ -64,10 +116,72 @@ public interface CocheService {
         Instant fechaF,
         Double precioI,
         Double precioF,
-        Long venta,
+        List<Long> venta,
+        IdMatch idMatch,
+        String cursor,
         Pageable pageable
     );
 
+    /**
+     * Get the summaries of the coches matching the filter.
+     * @param id the id of the entity.
+     * @param color the color of the entity.
+     * @param modelo the modelo of the entity.
+     * @param marca the marca of the entity.
+     * @param fecha the fecha of the entity(Range).
+     * @param precioI the precioInicial of the entity.
+     * @param precioF the precioFinal of the entity.
+     * @param venta the venta of the entity.
+     * @param idMatch how the id and venta filters are matched.
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    Page<CocheSummaryDTO> getCarSummariesByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Pageable pageable
+    );
+
+    /**
+     * Export the coches matching the filter, one row at a time.
+     * @param id the id of the entity.
+     * @param color the color of the entity.
+     * @param modelo the modelo of the entity.
+     * @param marca the marca of the entity.
+     * @param fecha the fecha of the entity(Range).
+     * @param precioI the precioInicial of the entity.
+     * @param precioF the precioFinal of the entity.
+     * @param venta the venta of the entity.
+     * @param idMatch how the id and venta filters are matched.
+     * @param sort the order of the rows.
+     * @param format the format of the rows.
+     * @param out the stream the rows are written to.
+     * @throws IOException if the rows can't be written.
+     */
+    void exportCarsByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException;
+
     /**
      * Delete the "id" coche.
      *
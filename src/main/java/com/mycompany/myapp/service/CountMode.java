@@ -0,0 +1,22 @@
+package com.mycompany.myapp.service;
+
+/**
+ * How the filter endpoints compute the total number of matching rows, whose COUNT query can cost as much as reading the page.
+ */
+public enum CountMode {
+    /**
+     * Run the count query on every request: the page carries the exact total.
+     */
+    EXACT,
+
+    /**
+     * Skip the count query: the result only tells whether there is a next page.
+     */
+    NONE,
+
+    /**
+     * Reuse a recently computed total of the same filters, so the count query only runs when it has expired. The total is exact on
+     * the last page, and approximate otherwise.
+     */
+    ESTIMATE,
+}
@@ -0,0 +1,149 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.domain.Empleado;
+import com.mycompany.myapp.repository.EmpleadoRepository;
+import com.mycompany.myapp.service.criteria.EmpleadoCriteria;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for executing complex queries for {@link Empleado} entities in the database.
+ * The main input is a {@link EmpleadoCriteria} which gets converted to {@link Specification},
+ * in a way that only the filters present in the criteria end up in the SQL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmpleadoQueryService extends EntityQueryService<Empleado> {
+
+    private final Logger log = LoggerFactory.getLogger(EmpleadoQueryService.class);
+
+    private static final Map<String, Function<Root<Empleado>, Expression<?>>> EXPORT_COLUMNS = exportColumns();
+
+    private final EmpleadoRepository empleadoRepository;
+
+    private final ExportService exportService;
+
+    private final PaginationService paginationService;
+
+    public EmpleadoQueryService(EmpleadoRepository empleadoRepository, ExportService exportService, PaginationService paginationService) {
+        this.empleadoRepository = empleadoRepository;
+        this.exportService = exportService;
+        this.paginationService = paginationService;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Empleado} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Empleado> findByCriteria(EmpleadoCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Empleado> specification = createSpecification(criteria);
+        return empleadoRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Empleado} which matches the criteria from the database, counting them as requested.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countMode How the matching entities are counted.
+     * @return the matching entities, as a {@link Page} unless they are not counted.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Empleado> findByCriteria(EmpleadoCriteria criteria, Pageable page, CountMode countMode) {
+        log.debug("find by criteria : {}, page: {}, count: {}", criteria, page, countMode);
+        final Specification<Empleado> specification = createSpecification(criteria);
+        switch (countMode) {
+            case NONE:
+                return paginationService.findSlice(Empleado.class, specification, page);
+            case ESTIMATE:
+                return paginationService.findEstimatedPage(
+                    Empleado.class,
+                    specification,
+                    criteria,
+                    page,
+                    () -> empleadoRepository.count(specification)
+                );
+            default:
+                return empleadoRepository.findAll(specification, page);
+        }
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(EmpleadoCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Empleado> specification = createSpecification(criteria);
+        return empleadoRepository.count(specification);
+    }
+
+    /**
+     * Write the {@link Empleado} which match the criteria to the given stream, one row at a time.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order of the rows.
+     * @param format The format of the rows.
+     * @param out The stream the rows are written to.
+     * @return the number of exported entities.
+     * @throws IOException if the rows can't be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(EmpleadoCriteria criteria, Sort sort, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("export by criteria : {}, sort: {}, format: {}", criteria, sort, format);
+        final Specification<Empleado> specification = createSpecification(criteria);
+        return exportService.export(Empleado.class, specification, sort, EXPORT_COLUMNS, format, out);
+    }
+
+    /**
+     * Function to convert {@link EmpleadoCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Empleado> createSpecification(EmpleadoCriteria criteria) {
+        Specification<Empleado> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildIdSpecification(criteria.getId(), root -> root.get(Empleado_.id)));
+            }
+            if (criteria.getNombre() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getNombre(), Empleado_.nombre));
+            }
+            if (criteria.getApellidos() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getApellidos(), Empleado_.apellidos));
+            }
+            if (criteria.getDni() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDni(), Empleado_.dni));
+            }
+        }
+        return specification;
+    }
+
+    private static Map<String, Function<Root<Empleado>, Expression<?>>> exportColumns() {
+        Map<String, Function<Root<Empleado>, Expression<?>>> columns = new LinkedHashMap<>();
+        columns.put("id", root -> root.get(Empleado_.id));
+        columns.put("nombre", root -> root.get(Empleado_.nombre));
+        columns.put("apellidos", root -> root.get(Empleado_.apellidos));
+        columns.put("dni", root -> root.get(Empleado_.dni));
+        return columns;
+    }
+}
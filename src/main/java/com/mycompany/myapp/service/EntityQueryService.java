@@ -0,0 +1,37 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.service.criteria.IdFilter;
+import java.util.function.Function;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Base class of the query services of the filter endpoints, adding the {@link IdFilter} support to {@link QueryService}.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+@Transactional(readOnly = true)
+public abstract class EntityQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    /**
+     * Helper function to return a specification for an id column (own primary key or foreign key).
+     * Equality and IN-list filters are compared against the numeric column, so they are served by its index.
+     *
+     * @param filter the individual attribute filter coming from the frontend.
+     * @param idFunction the function, which navigates from the current entity to the id column.
+     * @return a Specification
+     */
+    protected Specification<ENTITY> buildIdSpecification(IdFilter filter, Function<Root<ENTITY>, Expression<Long>> idFunction) {
+        Specification<ENTITY> specification = buildSpecification(filter, idFunction);
+        if (filter.getStartsWith() != null) {
+            specification =
+                specification.and(
+                    (root, query, builder) -> builder.like(idFunction.apply(root).as(String.class), filter.getStartsWith() + "%")
+                );
+        }
+        return specification;
+    }
+}
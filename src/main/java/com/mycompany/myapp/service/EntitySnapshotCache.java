@@ -0,0 +1,96 @@
+package com.mycompany.myapp.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache-aside access to the {@code findOne} caches of the entity services.
+ * <p>
+ * The caches hold immutable snapshots keyed by id, never managed entities, so a hit can be shared by concurrent requests and every
+ * caller gets its own detached copy. Only entities which exist are cached; the services evict their entries whenever they write them.
+ * <p>
+ * Evictions requested inside a transaction run at once, so the transaction reads its own writes, and again once it completes: a
+ * request which cached the previous state before the commit would otherwise keep serving it, and after a rollback anything cached
+ * from the uncommitted state is dropped.
+ */
+@Service
+public class EntitySnapshotCache {
+
+    private final CacheManager cacheManager;
+
+    public EntitySnapshotCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns the cached snapshot of an entity, loading and caching it on a miss.
+     *
+     * @param cacheName the cache of the entity.
+     * @param id the id of the entity.
+     * @param loader reads the snapshot from the database.
+     * @param <S> the type of the snapshot.
+     * @return the snapshot, or empty if the entity does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> Optional<S> get(String cacheName, Long id, Supplier<Optional<S>> loader) {
+        Cache cache = cache(cacheName);
+        Cache.ValueWrapper cached = cache.get(id);
+        if (cached != null) {
+            return Optional.of((S) cached.get());
+        }
+        Optional<S> snapshot = loader.get();
+        snapshot.ifPresent(value -> cache.put(id, value));
+        return snapshot;
+    }
+
+    public void evict(String cacheName, Long id) {
+        if (id != null) {
+            nowAndAfterCompletion(() -> cache(cacheName).evict(id));
+        }
+    }
+
+    public void evictAll(String cacheName, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> evicted = new ArrayList<>(ids);
+        nowAndAfterCompletion(
+            () -> {
+                Cache cache = cache(cacheName);
+                evicted.forEach(cache::evict);
+            }
+        );
+    }
+
+    public void clear(String cacheName) {
+        nowAndAfterCompletion(() -> cache(cacheName).clear());
+    }
+
+    private void nowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            }
+        );
+    }
+
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service;
+
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A {@link org.springframework.data.domain.Page} whose total may come from a cached count, and so be approximate.
+ *
+ * @param <T> the type of the content.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean approximate;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total, boolean approximate) {
+        super(content, pageable, total);
+        this.approximate = approximate;
+    }
+
+    /**
+     * @return {@code true} if the total may not match the current number of rows.
+     */
+    public boolean isApproximate() {
+        return approximate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EstimatedPage) || !super.equals(o)) {
+            return false;
+        }
+        return approximate == ((EstimatedPage<?>) o).approximate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), approximate);
+    }
+}
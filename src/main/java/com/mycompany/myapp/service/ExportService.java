@@ -0,0 +1,135 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.hibernate.jpa.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting the results of the filter endpoints.
+ * <p>
+ * Only the exported columns are selected, and the rows are read through a forward-only cursor of
+ * {@code application.export.fetch-size} rows and written to the output as they arrive, so neither entities nor pages are kept
+ * in memory whatever the size of the result.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper;
+
+    private final ApplicationProperties applicationProperties;
+
+    public ExportService(EntityManager entityManager, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+        this.csvMapper = new CsvMapper();
+        this.csvMapper.registerModule(new JavaTimeModule());
+        this.csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Write the entities matching the specification to the given stream, one row per entity.
+     *
+     * @param type the queried entity.
+     * @param specification the filters the entities should match.
+     * @param sort the order of the rows.
+     * @param columns the exported columns, by name, in the order they are written.
+     * @param format the format of the rows.
+     * @param out the stream the rows are written to; it is flushed but not closed.
+     * @param <ENTITY> the type of the queried entity.
+     * @return the number of exported rows.
+     * @throws IOException if the rows can't be written.
+     */
+    public <ENTITY> long export(
+        Class<ENTITY> type,
+        Specification<ENTITY> specification,
+        Sort sort,
+        Map<String, Function<Root<ENTITY>, Expression<?>>> columns,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<ENTITY> root = query.from(type);
+        query.multiselect(columns.values().stream().<Selection<?>>map(column -> column.apply(root)).collect(Collectors.toList()));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        List<String> names = new ArrayList<>(columns.keySet());
+        long count = 0;
+        try (
+            Stream<Object[]> rows = entityManager
+                .createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, applicationProperties.getExport().getFetchSize())
+                .getResultStream();
+            SequenceWriter writer = writerFor(format, names).writeValues(out)
+        ) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] values = iterator.next();
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    row.put(names.get(i), values[i]);
+                }
+                writer.write(row);
+                count++;
+            }
+        }
+        out.flush();
+        log.debug("Exported {} {} rows as {}", count, type.getSimpleName(), format);
+        return count;
+    }
+
+    private ObjectWriter writerFor(ExportFormat format, List<String> names) {
+        ObjectWriter writer;
+        if (format == ExportFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder();
+            names.forEach(schema::addColumn);
+            writer = csvMapper.writer(schema.build().withHeader());
+        } else {
+            writer = objectMapper.writer().withRootValueSeparator("\n");
+        }
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
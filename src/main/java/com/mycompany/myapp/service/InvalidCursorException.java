@@ -0,0 +1,10 @@
+package com.mycompany.myapp.service;
+
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
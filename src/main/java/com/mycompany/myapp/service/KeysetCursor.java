@@ -0,0 +1,61 @@
+package com.mycompany.myapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row of a keyset slice: the sort it was read with, and the sort key and id of that row.
+ * Clients only see it as an opaque string.
+ */
+final class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private static final String VALUE_PREFIX = "=";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final long id;
+
+    private final String value;
+
+    KeysetCursor(String property, Sort.Direction direction, long id, String value) {
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            String value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(VALUE_PREFIX.length()) : null;
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.parseLong(parts[2]), value);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    String encode() {
+        String raw = property + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + (value == null ? "" : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean matches(Sort.Order order) {
+        return property.equals(order.getProperty()) && direction == order.getDirection();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the textual form of the sort key of the last row, {@code null} if it was null.
+     */
+    String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service;
+
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A {@link org.springframework.data.domain.Slice} read with keyset pagination, carrying the cursor of the next slice.
+ *
+ * @param <T> the type of the content.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, Pageable pageable, String nextCursor) {
+        super(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the opaque cursor to request the next slice with, or {@code null} if this is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KeysetSlice) || !super.equals(o)) {
+            return false;
+        }
+        return Objects.equals(nextCursor, ((KeysetSlice<?>) o).nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), nextCursor);
+    }
+}
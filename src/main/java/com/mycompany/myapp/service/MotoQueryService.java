@@ -0,0 +1,227 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.domain.Moto;
+import com.mycompany.myapp.repository.MotoRepository;
+import com.mycompany.myapp.service.criteria.MotoCriteria;
+import com.mycompany.myapp.service.dto.MotoSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for executing complex queries for {@link Moto} entities in the database.
+ * The main input is a {@link MotoCriteria} which gets converted to {@link Specification},
+ * in a way that only the filters present in the criteria end up in the SQL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MotoQueryService extends EntityQueryService<Moto> {
+
+    private final Logger log = LoggerFactory.getLogger(MotoQueryService.class);
+
+    private static final Map<String, Function<Root<Moto>, Expression<?>>> EXPORT_COLUMNS = exportColumns();
+
+    private final MotoRepository motoRepository;
+
+    private final ExportService exportService;
+
+    private final PaginationService paginationService;
+
+    private final VehicleSearchIndex searchIndex;
+
+    public MotoQueryService(
+        MotoRepository motoRepository,
+        ExportService exportService,
+        PaginationService paginationService,
+        VehicleSearchIndex searchIndex
+    ) {
+        this.motoRepository = motoRepository;
+        this.exportService = exportService;
+        this.paginationService = paginationService;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Moto} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Moto> findByCriteria(MotoCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Moto> specification = createSpecification(criteria);
+        return motoRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return the {@link KeysetSlice} of {@link Moto} which matches the criteria and follows the cursor, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The cursor of the previous slice, empty for the first one.
+     * @param page The size and sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Moto> findByCriteriaAfter(MotoCriteria criteria, String cursor, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, cursor, page);
+        final Specification<Moto> specification = createSpecification(criteria);
+        return paginationService.findAfter(Moto.class, specification, cursor, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Moto} which matches the criteria from the database, counting them as requested.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countMode How the matching entities are counted.
+     * @return the matching entities, as a {@link Page} unless they are not counted.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Moto> findByCriteria(MotoCriteria criteria, Pageable page, CountMode countMode) {
+        log.debug("find by criteria : {}, page: {}, count: {}", criteria, page, countMode);
+        final Specification<Moto> specification = createSpecification(criteria);
+        switch (countMode) {
+            case NONE:
+                return paginationService.findSlice(Moto.class, specification, page);
+            case ESTIMATE:
+                return paginationService.findEstimatedPage(
+                    Moto.class,
+                    specification,
+                    criteria,
+                    page,
+                    () -> motoRepository.count(specification)
+                );
+            default:
+                return motoRepository.findAll(specification, page);
+        }
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(MotoCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Moto> specification = createSpecification(criteria);
+        return motoRepository.count(specification);
+    }
+
+    /**
+     * Write the {@link Moto} which match the criteria to the given stream, one row at a time.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order of the rows.
+     * @param format The format of the rows.
+     * @param out The stream the rows are written to.
+     * @return the number of exported entities.
+     * @throws IOException if the rows can't be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(MotoCriteria criteria, Sort sort, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("export by criteria : {}, sort: {}, format: {}", criteria, sort, format);
+        final Specification<Moto> specification = createSpecification(criteria);
+        return exportService.export(Moto.class, specification, sort, EXPORT_COLUMNS, format, out);
+    }
+
+    /**
+     * Return a {@link Page} of {@link MotoSummaryDTO} of the motos which match the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match, {@code null} to match all of them.
+     * @param page The page, which should be returned.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<MotoSummaryDTO> findSummariesByCriteria(MotoCriteria criteria, Pageable page) {
+        log.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Moto> specification = createSpecification(criteria);
+        return paginationService.findProjectedPage(
+            Moto.class,
+            MotoSummaryDTO.class,
+            MotoQueryService::summaryColumns,
+            specification,
+            page,
+            () -> motoRepository.count(specification)
+        );
+    }
+
+    /**
+     * Function to convert {@link MotoCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Moto> createSpecification(MotoCriteria criteria) {
+        Specification<Moto> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildIdSpecification(criteria.getId(), root -> root.get(Moto_.id)));
+            }
+            if (criteria.getColor() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getColor(), Moto_.color));
+                specification = specification.and(searchIndex.buildContainsSpecification(criteria.getColor(), Moto_.color));
+            }
+            if (criteria.getModelo() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getModelo(), Moto_.modelo));
+                specification = specification.and(searchIndex.buildContainsSpecification(criteria.getModelo(), Moto_.modelo));
+            }
+            if (criteria.getMarca() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getMarca(), Moto_.marca));
+                specification = specification.and(searchIndex.buildContainsSpecification(criteria.getMarca(), Moto_.marca));
+            }
+            if (criteria.getAnio() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAnio(), Moto_.anio));
+            }
+            if (criteria.getPrecio() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPrecio(), Moto_.precio));
+            }
+            if (criteria.getVentaId() != null) {
+                specification =
+                    specification.and(
+                        buildIdSpecification(criteria.getVentaId(), root -> root.get(Moto_.venta).get(Venta_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+
+    //Columnas del resumen: la venta solo por su id, sin join
+    private static List<Selection<?>> summaryColumns(Root<Moto> root, AbstractQuery<?> query, CriteriaBuilder builder) {
+        return List.of(
+            root.get(Moto_.id),
+            root.get(Moto_.color),
+            root.get(Moto_.modelo),
+            root.get(Moto_.marca),
+            root.get(Moto_.anio),
+            root.get(Moto_.precio),
+            root.get(Moto_.venta).get(Venta_.id)
+        );
+    }
+
+    private static Map<String, Function<Root<Moto>, Expression<?>>> exportColumns() {
+        Map<String, Function<Root<Moto>, Expression<?>>> columns = new LinkedHashMap<>();
+        columns.put("id", root -> root.get(Moto_.id));
+        columns.put("color", root -> root.get(Moto_.color));
+        columns.put("modelo", root -> root.get(Moto_.modelo));
+        columns.put("marca", root -> root.get(Moto_.marca));
+        columns.put("anio", root -> root.get(Moto_.anio));
+        columns.put("precio", root -> root.get(Moto_.precio));
+        columns.put("ventaId", root -> root.get(Moto_.venta).get(Venta_.id));
+        return columns;
+    }
+}
@@ -0,0 +1,336 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.FilterQueryCache;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.hibernate.jpa.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for reading the results of the filter endpoints without running a count query on every request.
+ * <p>
+ * With keyset (seek) pagination, instead of skipping {@code page * size} rows, every slice continues right after the (sort key, id)
+ * of the last row of the previous one, so deep slices cost the same as the first one. Only the first order of the sort is used, with
+ * the id as tie-breaker in the same direction. Null sort keys are ordered first, as MySQL and H2 do.
+ * <p>
+ * Offset slices read one row more than the page size to know whether there is a next page, and estimated pages complete them with
+ * a total kept in the {@value #FILTER_COUNTS_CACHE} cache.
+ * <p>
+ * The associations named as {@code fetched} are read in the same query as the entities, like the {@code @EntityGraph} of the
+ * {@code findAll} methods of the repositories, so listing a page doesn't load them one row at a time.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PaginationService {
+
+    public static final String FILTER_COUNTS_CACHE = "filterCounts";
+
+    private static final String ID = "id";
+
+    private static final Set<Class<?>> SORTABLE_TYPES = Set.of(String.class, Instant.class, Double.class, Long.class, Integer.class);
+
+    private final Logger log = LoggerFactory.getLogger(PaginationService.class);
+
+    private final EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+
+    public PaginationService(EntityManager entityManager, CacheManager cacheManager) {
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Return the page of the entities matching the specification, without counting them.
+     *
+     * @param type the queried entity.
+     * @param specification the filters the entities should match.
+     * @param pageable the page to read.
+     * @param fetched the associations read with the entities.
+     * @param <ENTITY> the type of the queried entity.
+     * @return the page, telling whether there is a next one.
+     */
+    public <ENTITY> Slice<ENTITY> findSlice(
+        Class<ENTITY> type,
+        Specification<ENTITY> specification,
+        Pageable pageable,
+        String... fetched
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = builder.createQuery(type);
+        Root<ENTITY> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        int size = pageable.getPageSize();
+        List<ENTITY> rows = cacheable(fetching(entityManager.createQuery(query), type, fetched))
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(size + 1)
+            .getResultList();
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        log.debug("Read {} {} at offset {}", rows.size(), type.getSimpleName(), pageable.getOffset());
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+
+    /**
+     * Return the page of the projections of the entities matching the specification. They are built by a constructor expression
+     * from the selected columns only, so no entity is loaded, managed or dirty-checked.
+     *
+     * @param type the queried entity.
+     * @param projectionType the class of the projections, with a constructor taking the selected columns in order.
+     * @param projection the selected columns.
+     * @param specification the filters the entities should match.
+     * @param pageable the page to read.
+     * @param count the count query, only run when the page itself doesn't tell the total.
+     * @param <ENTITY> the type of the queried entity.
+     * @param <PROJECTION> the type of the projections.
+     * @return the page of projections.
+     */
+    public <ENTITY, PROJECTION> Page<PROJECTION> findProjectedPage(
+        Class<ENTITY> type,
+        Class<PROJECTION> projectionType,
+        Projection<ENTITY> projection,
+        Specification<ENTITY> specification,
+        Pageable pageable,
+        LongSupplier count
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PROJECTION> query = builder.createQuery(projectionType);
+        Root<ENTITY> root = query.from(type);
+        query.select(builder.construct(projectionType, projection.select(root, query, builder).toArray(new Selection<?>[0])));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        int size = pageable.getPageSize();
+        List<PROJECTION> rows = entityManager
+            .createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(size)
+            .getResultList();
+        log.debug("Read {} {} projections at offset {}", rows.size(), type.getSimpleName(), pageable.getOffset());
+        //Como en Spring Data, una pagina incompleta (y no vacia, salvo la primera) ya da el total sin contar
+        boolean last = rows.size() < size && (!rows.isEmpty() || pageable.getOffset() == 0);
+        return new PageImpl<>(rows, pageable, last ? pageable.getOffset() + rows.size() : count.getAsLong());
+    }
+
+    /**
+     * Return the page of the entities matching the specification, with a total computed at most once per expiry of the
+     * {@value #FILTER_COUNTS_CACHE} cache for the same filters.
+     *
+     * @param type the queried entity.
+     * @param specification the filters the entities should match.
+     * @param filters the criteria the specification was built from, identifying the cached total.
+     * @param pageable the page to read.
+     * @param count the count query, run when the total of these filters isn't cached.
+     * @param fetched the associations read with the entities.
+     * @param <ENTITY> the type of the queried entity.
+     * @return the page, whose total is exact on the last page and approximate otherwise.
+     */
+    public <ENTITY> EstimatedPage<ENTITY> findEstimatedPage(
+        Class<ENTITY> type,
+        Specification<ENTITY> specification,
+        Object filters,
+        Pageable pageable,
+        LongSupplier count,
+        String... fetched
+    ) {
+        Slice<ENTITY> slice = findSlice(type, specification, pageable, fetched);
+        long read = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            //En la ultima pagina el total se conoce sin contar
+            return new EstimatedPage<>(slice.getContent(), pageable, read, false);
+        }
+        Cache cache = cacheManager.getCache(FILTER_COUNTS_CACHE);
+        Long total = cache == null ? Long.valueOf(count.getAsLong()) : cache.get(List.of(type.getName(), filters), count::getAsLong);
+        // A stale total can't be allowed to hide the next page
+        return new EstimatedPage<>(slice.getContent(), pageable, Math.max(total, read + 1), true);
+    }
+
+    /**
+     * Return the slice of the entities matching the specification which follows the cursor.
+     *
+     * @param type the queried entity.
+     * @param specification the filters the entities should match.
+     * @param cursor the cursor returned with the previous slice, or an empty string for the first one.
+     * @param pageable the size and sort of the slice; the page number is ignored.
+     * @param fetched the associations read with the entities.
+     * @param <ENTITY> the type of the queried entity.
+     * @return the slice, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is malformed or was read with another sort.
+     */
+    public <ENTITY> KeysetSlice<ENTITY> findAfter(
+        Class<ENTITY> type,
+        Specification<ENTITY> specification,
+        String cursor,
+        Pageable pageable,
+        String... fetched
+    ) {
+        Sort.Order order = keyOrder(pageable.getSort());
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+        if (after != null && !after.matches(order)) {
+            throw new InvalidCursorException("The cursor was read with another sort");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = builder.createQuery(type);
+        Root<ENTITY> root = query.from(type);
+        checkSortable(order, root.get(order.getProperty()).getJavaType());
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (after != null) {
+            predicates.add(seek(builder, root, order, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(orders(builder, root, order));
+
+        int size = pageable.getPageSize();
+        List<ENTITY> rows = cacheable(fetching(entityManager.createQuery(query), type, fetched)).setMaxResults(size + 1).getResultList();
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = cursorAfter(rows.get(size - 1), order).encode();
+        }
+        log.debug("Read {} {} after cursor {}", rows.size(), type.getSimpleName(), cursor);
+        return new KeysetSlice<>(rows, PageRequest.of(0, size, Sort.by(order)), nextCursor);
+    }
+
+    /**
+     * The columns selected by {@link #findProjectedPage}, in the order of the constructor of the projection class.
+     *
+     * @param <ENTITY> the type of the queried entity.
+     */
+    @FunctionalInterface
+    public interface Projection<ENTITY> {
+        /**
+         * @param root the queried entity, to select its columns or join its relations from.
+         * @param query the query, to build subqueries.
+         * @param builder the criteria builder.
+         * @return the selected columns.
+         */
+        List<Selection<?>> select(Root<ENTITY> root, AbstractQuery<?> query, CriteriaBuilder builder);
+    }
+
+    //Mismas pistas que las consultas de filtro de los repositorios, ver FilterQueryCache
+    private static <ENTITY> TypedQuery<ENTITY> cacheable(TypedQuery<ENTITY> query) {
+        return query.setHint(QueryHints.HINT_CACHEABLE, true).setHint(QueryHints.HINT_CACHE_REGION, FilterQueryCache.REGION);
+    }
+
+    private <ENTITY> TypedQuery<ENTITY> fetching(TypedQuery<ENTITY> query, Class<ENTITY> type, String... fetched) {
+        if (fetched.length == 0) {
+            return query;
+        }
+        EntityGraph<ENTITY> graph = entityManager.createEntityGraph(type);
+        graph.addAttributeNodes(fetched);
+        return query.setHint(QueryHints.HINT_FETCHGRAPH, graph);
+    }
+
+    private static Sort.Order keyOrder(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        if (order.getProperty().contains(".")) {
+            throw new InvalidCursorException("Keyset pagination can't sort by " + order.getProperty());
+        }
+        return order;
+    }
+
+    private static <ENTITY> List<Order> orders(CriteriaBuilder builder, Root<ENTITY> root, Sort.Order order) {
+        List<Order> orders = new ArrayList<>();
+        orders.add(order.isAscending() ? builder.asc(root.get(order.getProperty())) : builder.desc(root.get(order.getProperty())));
+        if (!ID.equals(order.getProperty())) {
+            orders.add(order.isAscending() ? builder.asc(root.get(ID)) : builder.desc(root.get(ID)));
+        }
+        return orders;
+    }
+
+    //Construye "a continuacion de la ultima fila": (clave, id) mayor (o menor si es descendente) que la del cursor
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <ENTITY> Predicate seek(CriteriaBuilder builder, Root<ENTITY> root, Sort.Order order, KeysetCursor after) {
+        Path<Long> id = root.get(ID);
+        Predicate idAfter = order.isAscending() ? builder.greaterThan(id, after.getId()) : builder.lessThan(id, after.getId());
+        if (ID.equals(order.getProperty())) {
+            return idAfter;
+        }
+        Path key = root.get(order.getProperty());
+        if (after.getValue() == null) {
+            Predicate sameKey = builder.and(builder.isNull(key), idAfter);
+            return order.isAscending() ? builder.or(sameKey, builder.isNotNull(key)) : sameKey;
+        }
+        Comparable value = parse(after.getValue(), key.getJavaType());
+        Predicate keyAfter = order.isAscending() ? builder.greaterThan(key, value) : builder.lessThan(key, value);
+        Predicate sameKey = builder.and(builder.equal(key, value), idAfter);
+        return order.isAscending() ? builder.or(keyAfter, sameKey) : builder.or(keyAfter, sameKey, builder.isNull(key));
+    }
+
+    private static void checkSortable(Sort.Order order, Class<?> type) {
+        if (!SORTABLE_TYPES.contains(type)) {
+            throw new InvalidCursorException("Keyset pagination can't sort by " + order.getProperty());
+        }
+    }
+
+    private static Comparable<?> parse(String value, Class<?> type) {
+        try {
+            if (Instant.class.equals(type)) {
+                return Instant.parse(value);
+            }
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Integer.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    private static KeysetCursor cursorAfter(Object last, Sort.Order order) {
+        BeanWrapperImpl row = new BeanWrapperImpl(last);
+        Object value = row.getPropertyValue(order.getProperty());
+        Long id = (Long) row.getPropertyValue(ID);
+        return new KeysetCursor(order.getProperty(), order.getDirection(), id, value == null ? null : value.toString());
+    }
+}
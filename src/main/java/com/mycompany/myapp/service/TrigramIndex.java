@@ -0,0 +1,133 @@
+package com.mycompany.myapp.service;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted trigram index over the distinct values of one string column, counting the rows which hold every value.
+ * <p>
+ * Writes are serialized, lookups take no lock: a lookup running next to a write may miss a value which is being added or keep
+ * one which is being removed, the same as if it had run just before the write.
+ * <p>
+ * Lookups may return values which don't contain the substring, never leave out one which does: values which are not ASCII once
+ * case and accents are folded are returned by every lookup, because the collation of the database may match them in ways the
+ * folding doesn't reproduce (ligatures, expansions).
+ */
+final class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern ASCII = Pattern.compile("\\p{ASCII}*");
+
+    //Comodines y escape de like, que la comparacion en memoria no interpreta
+    private static final Pattern LIKE_SPECIAL_CHARACTERS = Pattern.compile("[%_\\\\]");
+
+    private final Map<String, Integer> rows = new HashMap<>();
+
+    private final Map<String, Set<String>> values = new ConcurrentHashMap<>();
+
+    private final Set<String> unfolded = ConcurrentHashMap.newKeySet();
+
+    synchronized void add(String value, long count) {
+        if (value == null || count <= 0) {
+            return;
+        }
+        if (rows.merge(value, (int) count, Integer::sum) == count) {
+            String normalized = normalize(value);
+            if (!ASCII.matcher(normalized).matches()) {
+                unfolded.add(value);
+            }
+            grams(normalized).forEach(gram -> values.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(value));
+        }
+    }
+
+    synchronized void remove(String value) {
+        Integer count = rows.get(value);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            rows.put(value, count - 1);
+            return;
+        }
+        rows.remove(value);
+        unfolded.remove(value);
+        for (String gram : grams(normalize(value))) {
+            values.computeIfPresent(
+                gram,
+                (key, holders) -> {
+                    holders.remove(value);
+                    return holders.isEmpty() ? null : holders;
+                }
+            );
+        }
+    }
+
+    synchronized void clear() {
+        rows.clear();
+        values.clear();
+        unfolded.clear();
+    }
+
+    /**
+     * Returns the indexed values which contain a substring, ignoring case and accents.
+     *
+     * @param substring the substring, without wildcards.
+     * @param maxValues the most values worth returning.
+     * @return the values, or empty if the substring is shorter than a trigram, is not ASCII once folded, or more than
+     * {@code maxValues} values may contain it.
+     */
+    Optional<Set<String>> containing(String substring, int maxValues) {
+        String needle = normalize(substring);
+        if (needle.length() < GRAM || !ASCII.matcher(needle).matches()) {
+            return Optional.empty();
+        }
+        Set<String> matches = new HashSet<>(unfolded);
+        // Basta con verificar los valores del trigrama menos frecuente
+        Set<String> fewest = null;
+        for (String gram : grams(needle)) {
+            Set<String> holders = values.getOrDefault(gram, Collections.emptySet());
+            if (fewest == null || holders.size() < fewest.size()) {
+                fewest = holders;
+            }
+        }
+        for (String value : fewest) {
+            if (matches.size() > maxValues) {
+                break;
+            }
+            if (normalize(value).contains(needle)) {
+                matches.add(value);
+            }
+        }
+        return matches.size() > maxValues ? Optional.empty() : Optional.of(matches);
+    }
+
+    static String normalize(String value) {
+        return DIACRITICS.matcher(Normalizer.normalize(value.toUpperCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * @return whether {@code like} would read the value as a pattern rather than as the literal substring.
+     */
+    static boolean hasLikeWildcards(String value) {
+        return LIKE_SPECIAL_CHARACTERS.matcher(value).find();
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,502 @@
+package com.mycompany.myapp.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Columnar copy of the vehicles of one type: one primitive array per column, with the strings replaced by their code in a
+ * dictionary of the distinct values. Rows are kept dense, a removed row is replaced by the last one.
+ * <p>
+ * Queries share a read lock and writes take the write lock, so a query never sees a half applied write.
+ */
+final class VehicleColumns {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Dictionary colors = new Dictionary();
+
+    private final Dictionary modelos = new Dictionary();
+
+    private final Dictionary marcas = new Dictionary();
+
+    private final SlotIndex slots = new SlotIndex();
+
+    private long[] ids = new long[1024];
+
+    private int[] colorCodes = new int[1024];
+
+    private int[] modeloCodes = new int[1024];
+
+    private int[] marcaCodes = new int[1024];
+
+    private long[] anios = new long[1024];
+
+    private double[] precios = new double[1024];
+
+    private long[] ventaIds = new long[1024];
+
+    private int size;
+
+    void put(long id, String color, String modelo, String marca, Instant anio, double precio, Long ventaId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot < 0) {
+                grow();
+                slot = size++;
+                slots.put(id, slot);
+            }
+            ids[slot] = id;
+            colorCodes[slot] = colors.code(color);
+            modeloCodes[slot] = modelos.code(modelo);
+            marcaCodes[slot] = marcas.code(marca);
+            anios[slot] = anio != null ? micros(anio) : NONE;
+            precios[slot] = precio;
+            ventaIds[slot] = ventaId != null ? ventaId : NONE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot < 0) {
+                return;
+            }
+            slots.remove(id);
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                colorCodes[slot] = colorCodes[last];
+                modeloCodes[slot] = modeloCodes[last];
+                marcaCodes[slot] = marcaCodes[last];
+                anios[slot] = anios[last];
+                precios[slot] = precios[last];
+                ventaIds[slot] = ventaIds[last];
+                slots.put(ids[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setVenta(Collection<Long> vehicleIds, Long ventaId) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : vehicleIds) {
+                int slot = slots.get(id);
+                if (slot >= 0) {
+                    ventaIds[slot] = ventaId != null ? ventaId : NONE;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the page of ids of the rows which match a filter.
+     *
+     * @param filter the filter.
+     * @param pageable the page; its sort may only use {@code id}, {@code precio} and {@code anio}.
+     * @param parallelThreshold the rows from which the filter is evaluated in parallel.
+     * @return the page with the exact total, or empty if the sort can't be applied or a substring filter depends on how the
+     * database collation treats accents.
+     */
+    Optional<Page<Long>> find(Filter filter, Pageable pageable, int parallelThreshold) {
+        lock.readLock().lock();
+        try {
+            SlotOrder order = order(pageable.getSort());
+            if (
+                order == null ||
+                colors.dependsOnAccents(filter.color) ||
+                modelos.dependsOnAccents(filter.modelo) ||
+                marcas.dependsOnAccents(filter.marca)
+            ) {
+                return Optional.empty();
+            }
+            int[] matches = match(filter, parallelThreshold);
+            int from = (int) Math.min(pageable.isPaged() ? pageable.getOffset() : 0, matches.length);
+            int to = pageable.isPaged() ? (int) Math.min(pageable.getOffset() + pageable.getPageSize(), matches.length) : matches.length;
+            int[] first = first(matches, to, order);
+            List<Long> content = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                content.add(ids[first[i]]);
+            }
+            return Optional.of(new PageImpl<>(content, pageable, matches.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] match(Filter filter, int parallelThreshold) {
+        boolean[] color = colors.containing(filter.color);
+        boolean[] modelo = modelos.containing(filter.modelo);
+        boolean[] marca = marcas.containing(filter.marca);
+        long[] ids = this.ids;
+        int[] colorCodes = this.colorCodes;
+        int[] modeloCodes = this.modeloCodes;
+        int[] marcaCodes = this.marcaCodes;
+        long[] anios = this.anios;
+        double[] precios = this.precios;
+        long[] ventaIds = this.ventaIds;
+        IntStream rows = IntStream.range(0, size);
+        if (size >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+        return rows
+            .filter(
+                slot ->
+                    (filter.id == null || filter.id.matches(ids[slot])) &&
+                    (color == null || color[colorCodes[slot]]) &&
+                    (modelo == null || modelo[modeloCodes[slot]]) &&
+                    (marca == null || marca[marcaCodes[slot]]) &&
+                    (!filter.anioFiltered || (anios[slot] != NONE && anios[slot] >= filter.anioFrom && anios[slot] <= filter.anioTo)) &&
+                    precios[slot] >= filter.precioFrom &&
+                    precios[slot] <= filter.precioTo &&
+                    (filter.venta == null || (ventaIds[slot] != NONE && filter.venta.matches(ventaIds[slot])))
+            )
+            .toArray();
+    }
+
+    //Solo se admite la ordenacion por columnas numericas: las de texto dependen de la collation de la base de datos
+    private SlotOrder order(Sort sort) {
+        SlotOrder order = (a, b) -> 0;
+        boolean byId = false;
+        for (Sort.Order property : sort) {
+            if (property.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return null;
+            }
+            SlotOrder next;
+            switch (property.getProperty()) {
+                case "id":
+                    next = (a, b) -> Long.compare(ids[a], ids[b]);
+                    byId = true;
+                    break;
+                case "precio":
+                    next = (a, b) -> Double.compare(precios[a], precios[b]);
+                    break;
+                case "anio":
+                    next = (a, b) -> Long.compare(anios[a], anios[b]);
+                    break;
+                default:
+                    return null;
+            }
+            order = order.then(property.isAscending() ? next : (a, b) -> next.compare(b, a));
+        }
+        return byId ? order : order.then((a, b) -> Long.compare(ids[a], ids[b]));
+    }
+
+    //Ordena solo los k primeros, con un monticulo acotado en lugar de ordenar todas las coincidencias
+    private static int[] first(int[] slots, int k, SlotOrder order) {
+        if (k >= slots.length) {
+            return sorted(slots, order);
+        }
+        int[] heap = new int[k];
+        int n = 0;
+        for (int slot : slots) {
+            if (n < k) {
+                heap[n] = slot;
+                siftUp(heap, n++, order);
+            } else if (k > 0 && order.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(heap, n, order);
+            }
+        }
+        return sorted(heap, order);
+    }
+
+    private static int[] sorted(int[] slots, SlotOrder order) {
+        return Arrays.stream(slots).boxed().sorted(order::compare).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void siftUp(int[] heap, int i, SlotOrder order) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (order.compare(heap[i], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int n, SlotOrder order) {
+        int i = 0;
+        while (2 * i + 1 < n) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(heap[child], heap[i]) <= 0) {
+                return;
+            }
+            swap(heap, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int slot = heap[i];
+        heap[i] = heap[j];
+        heap[j] = slot;
+    }
+
+    private void grow() {
+        if (size < ids.length) {
+            return;
+        }
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        colorCodes = Arrays.copyOf(colorCodes, capacity);
+        modeloCodes = Arrays.copyOf(modeloCodes, capacity);
+        marcaCodes = Arrays.copyOf(marcaCodes, capacity);
+        anios = Arrays.copyOf(anios, capacity);
+        precios = Arrays.copyOf(precios, capacity);
+        ventaIds = Arrays.copyOf(ventaIds, capacity);
+    }
+
+    /**
+     * Microseconds since the epoch, the precision of the {@code datetime(6)} columns.
+     */
+    static long micros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    /**
+     * The filters of the vehicle filter endpoints. A {@code null} field doesn't filter.
+     */
+    static final class Filter {
+
+        IdMatcher id;
+
+        String color;
+
+        String modelo;
+
+        String marca;
+
+        boolean anioFiltered;
+
+        long anioFrom = Long.MIN_VALUE;
+
+        long anioTo = Long.MAX_VALUE;
+
+        double precioFrom = Double.NEGATIVE_INFINITY;
+
+        double precioTo = Double.POSITIVE_INFINITY;
+
+        IdMatcher venta;
+    }
+
+    @FunctionalInterface
+    interface IdMatcher {
+        boolean matches(long id);
+
+        static IdMatcher in(Collection<Long> ids) {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+            return id -> Arrays.binarySearch(sorted, id) >= 0;
+        }
+
+        /**
+         * Matches the ids whose decimal form starts with the one of a prefix, as {@code cast(id as varchar) like 'prefix%'}.
+         */
+        static IdMatcher startingWith(long prefix) {
+            long bound = 1;
+            while (bound <= prefix) {
+                bound *= 10;
+            }
+            long limit = bound;
+            return id -> {
+                long value = id;
+                while (value >= limit) {
+                    value /= 10;
+                }
+                return value == prefix;
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotOrder {
+        int compare(int a, int b);
+
+        default SlotOrder then(SlotOrder next) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+    }
+
+    /**
+     * The distinct values of a string column; codes are never reused, the dictionary only grows.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            return codes.computeIfAbsent(
+                value,
+                key -> {
+                    values.add(key);
+                    return values.size() - 1;
+                }
+            );
+        }
+
+        /**
+         * @return which codes contain the substring, as {@code upper(column) like upper('%substring%')}, or {@code null} if the
+         * substring is {@code null}.
+         */
+        boolean[] containing(String substring) {
+            if (substring == null) {
+                return null;
+            }
+            String needle = substring.toUpperCase(Locale.ROOT);
+            boolean[] containing = new boolean[values.size()];
+            for (int code = 0; code < containing.length; code++) {
+                String value = values.get(code);
+                containing[code] = value != null && value.toUpperCase(Locale.ROOT).contains(needle);
+            }
+            return containing;
+        }
+
+        /**
+         * @return whether a value contains the substring once accents are folded but not as written, or the other way around, so
+         * only the collation of the database can tell if it matches, as {@code Citroën} for {@code citroen}.
+         */
+        boolean dependsOnAccents(String substring) {
+            if (substring == null) {
+                return false;
+            }
+            String needle = substring.toUpperCase(Locale.ROOT);
+            String folded = TrigramIndex.normalize(substring);
+            for (String value : values) {
+                if (value != null && value.toUpperCase(Locale.ROOT).contains(needle) != TrigramIndex.normalize(value).contains(folded)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Open addressing map from id to row, with linear probing and backward shift deletion, so no object is kept per row.
+     */
+    private static final class SlotIndex {
+
+        private long[] keys = emptyKeys(2048);
+
+        private int[] values = new int[2048];
+
+        private int size;
+
+        int get(long key) {
+            int i = find(key);
+            return keys[i] == key ? values[i] : -1;
+        }
+
+        void put(long key, int value) {
+            int i = find(key);
+            if (keys[i] != key) {
+                keys[i] = key;
+                if (++size * 2 > keys.length) {
+                    values[i] = value;
+                    rehash(keys.length * 2);
+                    return;
+                }
+            }
+            values[i] = value;
+        }
+
+        void remove(long key) {
+            int i = find(key);
+            if (keys[i] != key) {
+                return;
+            }
+            int mask = keys.length - 1;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (keys[j] == NONE) {
+                    break;
+                }
+                int home = hash(keys[j]) & mask;
+                // La entrada de j puede ocupar el hueco de i si su posicion natural no esta entre i (excluida) y j
+                boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = NONE;
+            size--;
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != NONE && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = emptyKeys(capacity);
+            values = new int[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NONE) {
+                    int j = find(oldKeys[i]);
+                    keys[j] = oldKeys[i];
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, NONE);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
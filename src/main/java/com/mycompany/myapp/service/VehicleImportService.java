@@ -0,0 +1,329 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Moto;
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.repository.MotoRepository;
+import com.mycompany.myapp.service.dto.BulkImportReportDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing large inventories of {@link Coche} and {@link Moto} in one request.
+ * <p>
+ * The body is read one row at a time with Jackson's streaming parser, so memory use doesn't depend on the size of the import.
+ * Every row is checked against the bean validation constraints of the entity; valid rows are inserted in JDBC batches and
+ * invalid ones are skipped and reported. After every batch the ventas the new vehicles belong to refresh their vehicle totals and
+ * the snapshots of the new ids are evicted, as {@link CocheService#save} and {@link MotoService#save} do for a single vehicle.
+ * <p>
+ * Every batch is committed in its own transaction, unless the caller already has one, which they join. When the database rejects
+ * a batch, like for a venta which doesn't exist, its rows are stored one by one so only the failing ones are reported, and the
+ * rest of the import goes on. The report lists at most {@value BulkImportReportDTO#MAX_ERRORS} errors.
+ */
+@Service
+public class VehicleImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    /**
+     * Supported body formats: a JSON array of entities, or a CSV file whose header names the entity fields
+     * ({@code color,modelo,marca,anio,precio}).
+     */
+    public enum Format {
+        JSON,
+        CSV;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)) {
+                return CSV;
+            }
+            return JSON;
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(VehicleImportService.class);
+
+    private final CocheRepository cocheRepository;
+
+    private final MotoRepository motoRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final EntitySnapshotCache snapshotCache;
+
+    private final VentaService ventaService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    public VehicleImportService(
+        CocheRepository cocheRepository,
+        MotoRepository motoRepository,
+        ObjectMapper objectMapper,
+        Validator validator,
+        EntityManager entityManager,
+        EntitySnapshotCache snapshotCache,
+        VentaService ventaService,
+        PlatformTransactionManager transactionManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.cocheRepository = cocheRepository;
+        this.motoRepository = motoRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.snapshotCache = snapshotCache;
+        this.ventaService = ventaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.csvMapper = new CsvMapper();
+        this.csvMapper.registerModule(new JavaTimeModule());
+        this.csvMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+    }
+
+    /**
+     * Import coches.
+     *
+     * @param body the request body.
+     * @param format the format of the body.
+     * @return the import report.
+     * @throws IOException if the body can't be read.
+     */
+    public BulkImportReportDTO importCoches(InputStream body, Format format) throws IOException {
+        log.debug("Request to bulk import Coches from {}", format);
+        return importRows(
+            body,
+            format,
+            new Target<>(Coche.class, Coche::getId, Coche::setId, Coche::getVenta, cocheRepository, CocheService.COCHES_BY_ID_CACHE)
+        );
+    }
+
+    /**
+     * Import motos.
+     *
+     * @param body the request body.
+     * @param format the format of the body.
+     * @return the import report.
+     * @throws IOException if the body can't be read.
+     */
+    public BulkImportReportDTO importMotos(InputStream body, Format format) throws IOException {
+        log.debug("Request to bulk import Motos from {}", format);
+        return importRows(
+            body,
+            format,
+            new Target<>(Moto.class, Moto::getId, Moto::setId, Moto::getVenta, motoRepository, MotoService.MOTOS_BY_ID_CACHE)
+        );
+    }
+
+    private <T> BulkImportReportDTO importRows(InputStream body, Format format, Target<T> target) throws IOException {
+        BulkImportReportDTO report = new BulkImportReportDTO();
+        Batch<T> batch = new Batch<>(batchSize);
+        long row = 0;
+        try (MappingIterator<T> rows = readerFor(target.type, format).readValues(body)) {
+            while (true) {
+                T entity;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    entity = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // The iterator skips the rest of the broken row, so the import can go on with the next one
+                    report.addError(row, List.of(e.getOriginalMessage()));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    report.addError(row, List.of("Malformed content, import stopped: " + e.getOriginalMessage()));
+                    break;
+                }
+                List<String> messages = validate(entity, target.idGetter);
+                if (!messages.isEmpty()) {
+                    report.addError(row, messages);
+                    continue;
+                }
+                batch.add(row, entity);
+                if (batch.entities.size() == batchSize) {
+                    saveBatch(batch, target, report);
+                }
+            }
+        }
+        saveBatch(batch, target, report);
+        report.setRows(row);
+        log.debug("Bulk import of {} finished : {}", target.type.getSimpleName(), report);
+        return report;
+    }
+
+    private ObjectReader readerFor(Class<?> type, Format format) {
+        if (format == Format.CSV) {
+            // Las celdas vacias se leen como null, tambien en las columnas de fechas
+            return csvMapper.readerFor(type).with(CsvSchema.emptySchema().withHeader().withNullValue(""));
+        }
+        return objectMapper.readerFor(type);
+    }
+
+    private <T> List<String> validate(T entity, Function<T, Long> idGetter) {
+        if (idGetter.apply(entity) != null) {
+            return List.of("A new entity cannot already have an ID");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(entity);
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    //Guarda el lote en su propia transaccion; si la base de datos lo rechaza, guarda sus filas una a una,
+    //cada una en su transaccion, para importar las validas e informar de las que fallan
+    private <T> void saveBatch(Batch<T> batch, Target<T> target, BulkImportReportDTO report) {
+        if (batch.entities.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(batch.entities, target));
+            report.setImported(report.getImported() + batch.entities.size());
+        } catch (DataAccessException | TransactionException | PersistenceException e) {
+            log.debug("Batch of {} rejected, saving its rows one by one : {}", target.type.getSimpleName(), e.getMessage());
+            for (int i = 0; i < batch.entities.size(); i++) {
+                T entity = batch.entities.get(i);
+                try {
+                    target.idSetter.accept(entity, null);
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(entity), target));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException | TransactionException | PersistenceException rowError) {
+                    long row = batch.rows.get(i);
+                    log.debug("Row {} of the {} import rejected : {}", row, target.type.getSimpleName(), rowError.getMessage());
+                    report.addError(row, List.of(rejection(rowError)));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    //Escribe las entidades en una sola ida a la base de datos y vacia el contexto de persistencia para no acumularlas,
+    //despues de actualizar las ventas de sus vehiculos, que tambien hay que escribir antes de vaciarlo
+    private <T> void save(List<T> entities, Target<T> target) {
+        target.repository.saveAll(entities);
+        target.repository.flush();
+        snapshotCache.evictAll(target.cacheName, entities.stream().map(target.idGetter).collect(Collectors.toList()));
+        entities
+            .stream()
+            .map(target.ventaGetter)
+            .filter(Objects::nonNull)
+            .map(Venta::getId)
+            .distinct()
+            .forEach(ventaService::refreshVehicleTotals);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String rejection(Exception e) {
+        if (e instanceof DataIntegrityViolationException || e.getCause() instanceof ConstraintViolationException) {
+            return "Rejected by a database constraint, like a venta which doesn't exist or a value too long";
+        }
+        return "Could not be saved";
+    }
+
+    /**
+     * How the rows of one entity type are checked and stored.
+     */
+    private static final class Target<T> {
+
+        private final Class<T> type;
+
+        private final Function<T, Long> idGetter;
+
+        private final BiConsumer<T, Long> idSetter;
+
+        private final Function<T, Venta> ventaGetter;
+
+        private final JpaRepository<T, Long> repository;
+
+        private final String cacheName;
+
+        Target(
+            Class<T> type,
+            Function<T, Long> idGetter,
+            BiConsumer<T, Long> idSetter,
+            Function<T, Venta> ventaGetter,
+            JpaRepository<T, Long> repository,
+            String cacheName
+        ) {
+            this.type = type;
+            this.idGetter = idGetter;
+            this.idSetter = idSetter;
+            this.ventaGetter = ventaGetter;
+            this.repository = repository;
+            this.cacheName = cacheName;
+        }
+    }
+
+    /**
+     * The valid rows waiting to be stored, with their position in the body.
+     */
+    private static final class Batch<T> {
+
+        private final List<Long> rows;
+
+        private final List<T> entities;
+
+        Batch(int size) {
+            this.rows = new ArrayList<>(size);
+            this.entities = new ArrayList<>(size);
+        }
+
+        void add(long row, T entity) {
+            rows.add(row);
+            entities.add(entity);
+        }
+
+        void clear() {
+            rows.clear();
+            entities.clear();
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Moto;
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.service.criteria.CocheCriteria;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.MotoCriteria;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Optional in-memory columnar copy of the {@link Coche} and {@link Moto} inventories, which answers the filter endpoints without
+ * querying the database; only the entities of the returned page are then read, by id, through the second level cache.
+ * <p>
+ * The copy is loaded once the application is ready and then follows the commits of this instance: the Hibernate events of the
+ * vehicles, and the bulk reassignments of the ventas, which don't raise entity events and are reported with
+ * {@link #reassignAfterCommit}. Rows written to the database behind the back of this instance are only seen after a restart.
+ * <p>
+ * Filters and sorts the copy can't evaluate exactly as the database would (like wildcards, substrings which only match a value
+ * once accents are folded, sorting by a text column) are left to the database.
+ */
+@Service
+public class VehicleInventorySnapshot {
+
+    private static final String[] COLUMNS = { "color", "modelo", "marca", "anio", "precio", "venta" };
+
+    private final Logger log = LoggerFactory.getLogger(VehicleInventorySnapshot.class);
+
+    private final EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.InventorySnapshot properties;
+
+    private final int fetchSize;
+
+    private final Map<String, VehicleColumns> columns = new LinkedHashMap<>();
+
+    //Cambios confirmados antes de terminar la carga, que se aplican despues de ella
+    private List<Runnable> pending = new ArrayList<>();
+
+    private volatile boolean loaded;
+
+    public VehicleInventorySnapshot(
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getInventorySnapshot();
+        this.fetchSize = applicationProperties.getExport().getFetchSize();
+        columns.put(Coche.class.getName(), new VehicleColumns());
+        columns.put(Moto.class.getName(), new VehicleColumns());
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, new CommitInsertListener());
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, new CommitUpdateListener());
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, new CommitDeleteListener());
+    }
+
+    /**
+     * Loads every coche and moto, reading only the filtered columns, then applies the changes committed in the meantime.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!properties.isEnabled() || loaded) {
+            return;
+        }
+        columns.forEach(
+            (entityName, vehicles) -> {
+                String entity = entityName.substring(entityName.lastIndexOf('.') + 1);
+                try (
+                    Stream<Object[]> rows = entityManager
+                        .createQuery(
+                            "select e.id, e.color, e.modelo, e.marca, e.anio, e.precio, v.id from " + entity + " e left join e.venta v",
+                            Object[].class
+                        )
+                        .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                        .getResultStream()
+                ) {
+                    rows.forEach(
+                        row ->
+                            vehicles.put(
+                                (Long) row[0],
+                                (String) row[1],
+                                (String) row[2],
+                                (String) row[3],
+                                (Instant) row[4],
+                                (Double) row[5],
+                                (Long) row[6]
+                            )
+                    );
+                }
+                log.debug("Inventory snapshot loaded {} {} rows", vehicles.size(), entity);
+            }
+        );
+        synchronized (this) {
+            pending.forEach(Runnable::run);
+            pending = null;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Returns the ids of the coches which match the criteria.
+     *
+     * @param criteria the criteria built by the filter endpoint.
+     * @param pageable the page.
+     * @return the page of ids with the exact total, or empty if the copy can't answer and the database has to be queried.
+     */
+    public Optional<Page<Long>> findCoches(CocheCriteria criteria, Pageable pageable) {
+        return find(
+            Coche.class,
+            pageable,
+            criteria.getId(),
+            criteria.getColor(),
+            criteria.getModelo(),
+            criteria.getMarca(),
+            criteria.getAnio(),
+            criteria.getPrecio(),
+            criteria.getVentaId()
+        );
+    }
+
+    /**
+     * Returns the ids of the motos which match the criteria.
+     *
+     * @param criteria the criteria built by the filter endpoint.
+     * @param pageable the page.
+     * @return the page of ids with the exact total, or empty if the copy can't answer and the database has to be queried.
+     */
+    public Optional<Page<Long>> findMotos(MotoCriteria criteria, Pageable pageable) {
+        return find(
+            Moto.class,
+            pageable,
+            criteria.getId(),
+            criteria.getColor(),
+            criteria.getModelo(),
+            criteria.getMarca(),
+            criteria.getAnio(),
+            criteria.getPrecio(),
+            criteria.getVentaId()
+        );
+    }
+
+    /**
+     * Records that the vehicles have been moved to another venta by a bulk update, once the current transaction commits.
+     *
+     * @param type {@link Coche} or {@link Moto}.
+     * @param ids the ids of the vehicles.
+     * @param ventaId the id of their venta, {@code null} if they no longer belong to one.
+     */
+    public void reassignAfterCommit(Class<?> type, Collection<Long> ids, Long ventaId) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        VehicleColumns vehicles = columns.get(type.getName());
+        List<Long> vehicleIds = List.copyOf(ids);
+        Runnable change = () -> vehicles.setVenta(vehicleIds, ventaId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            }
+        );
+    }
+
+    private Optional<Page<Long>> find(
+        Class<?> type,
+        Pageable pageable,
+        IdFilter id,
+        StringFilter color,
+        StringFilter modelo,
+        StringFilter marca,
+        InstantFilter anio,
+        DoubleFilter precio,
+        IdFilter venta
+    ) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+        VehicleColumns.Filter filter = new VehicleColumns.Filter();
+        if (
+            !(
+                setId(id, matcher -> filter.id = matcher) &&
+                setContains(color, substring -> filter.color = substring) &&
+                setContains(modelo, substring -> filter.modelo = substring) &&
+                setContains(marca, substring -> filter.marca = substring) &&
+                setAnio(anio, filter) &&
+                setPrecio(precio, filter) &&
+                setId(venta, matcher -> filter.venta = matcher)
+            )
+        ) {
+            return Optional.empty();
+        }
+        return columns.get(type.getName()).find(filter, pageable, properties.getParallelThreshold());
+    }
+
+    //Cada setX devuelve false si el filtro usa una condicion que la copia no evalua
+    private static boolean setId(IdFilter filter, Consumer<VehicleColumns.IdMatcher> setter) {
+        if (filter == null) {
+            return true;
+        }
+        IdFilter supported = new IdFilter();
+        supported.setEquals(filter.getEquals());
+        supported.setIn(filter.getIn());
+        supported.setStartsWith(filter.getStartsWith());
+        if (!supported.equals(filter)) {
+            return false;
+        }
+        if (filter.getStartsWith() != null) {
+            try {
+                long prefix = Long.parseLong(filter.getStartsWith());
+                if (prefix <= 0) {
+                    return false;
+                }
+                setter.accept(VehicleColumns.IdMatcher.startingWith(prefix));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        } else if (filter.getEquals() != null) {
+            long equals = filter.getEquals();
+            setter.accept(value -> value == equals);
+        } else if (filter.getIn() != null) {
+            setter.accept(VehicleColumns.IdMatcher.in(filter.getIn()));
+        }
+        return true;
+    }
+
+    private static boolean setContains(StringFilter filter, Consumer<String> setter) {
+        if (filter == null) {
+            return true;
+        }
+        StringFilter supported = new StringFilter();
+        supported.setContains(filter.getContains());
+        if (!supported.equals(filter) || (filter.getContains() != null && TrigramIndex.hasLikeWildcards(filter.getContains()))) {
+            return false;
+        }
+        setter.accept(filter.getContains());
+        return true;
+    }
+
+    private static boolean setAnio(InstantFilter filter, VehicleColumns.Filter columns) {
+        if (filter == null) {
+            return true;
+        }
+        InstantFilter supported = new InstantFilter();
+        supported.setGreaterThanOrEqual(filter.getGreaterThanOrEqual());
+        supported.setLessThanOrEqual(filter.getLessThanOrEqual());
+        if (!supported.equals(filter)) {
+            return false;
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            columns.anioFiltered = true;
+            columns.anioFrom = VehicleColumns.micros(filter.getGreaterThanOrEqual());
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            columns.anioFiltered = true;
+            columns.anioTo = VehicleColumns.micros(filter.getLessThanOrEqual());
+        }
+        return true;
+    }
+
+    private static boolean setPrecio(DoubleFilter filter, VehicleColumns.Filter columns) {
+        if (filter == null) {
+            return true;
+        }
+        DoubleFilter supported = new DoubleFilter();
+        supported.setGreaterThanOrEqual(filter.getGreaterThanOrEqual());
+        supported.setLessThanOrEqual(filter.getLessThanOrEqual());
+        if (!supported.equals(filter)) {
+            return false;
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            columns.precioFrom = filter.getGreaterThanOrEqual();
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            columns.precioTo = filter.getLessThanOrEqual();
+        }
+        return true;
+    }
+
+    private synchronized void apply(Runnable change) {
+        if (pending != null) {
+            pending.add(change);
+        } else {
+            change.run();
+        }
+    }
+
+    //Copia el estado confirmado de la entidad, si es un vehiculo
+    private void put(EntityPersister persister, Object id, Object[] state) {
+        VehicleColumns vehicles = columns.get(persister.getEntityName());
+        if (vehicles == null) {
+            return;
+        }
+        Object[] values = new Object[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            values[i] = state[persister.getEntityMetamodel().getPropertyIndex(COLUMNS[i])];
+        }
+        Venta venta = (Venta) values[5];
+        apply(
+            () ->
+                vehicles.put(
+                    (Long) id,
+                    (String) values[0],
+                    (String) values[1],
+                    (String) values[2],
+                    (Instant) values[3],
+                    (Double) values[4],
+                    venta != null ? venta.getId() : null
+                )
+        );
+    }
+
+    private void remove(EntityPersister persister, Object id) {
+        VehicleColumns vehicles = columns.get(persister.getEntityName());
+        if (vehicles != null) {
+            apply(() -> vehicles.remove((Long) id));
+        }
+    }
+
+    private boolean isVehicle(EntityPersister persister) {
+        return columns.containsKey(persister.getEntityName());
+    }
+
+    private class CommitInsertListener implements PostCommitInsertEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            put(event.getPersister(), event.getId(), event.getState());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return isVehicle(persister);
+        }
+    }
+
+    private class CommitUpdateListener implements PostCommitUpdateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            put(event.getPersister(), event.getId(), event.getState());
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return isVehicle(persister);
+        }
+    }
+
+    private class CommitDeleteListener implements PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            remove(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return isVehicle(persister);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Moto;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.SingularAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * In-memory trigram indexes over the {@code marca}, {@code modelo} and {@code color} of {@link Coche} and {@link Moto}.
+ * <p>
+ * A {@code contains} filter can't seek on a B-tree index, so it reads every row. The columns hold few distinct values, so the
+ * index looks up the values which contain the substring and the query also requires the column to be one of them, which
+ * seeks on the column index, created in the {@code search} Liquibase context; the {@code like} is kept and still decides which
+ * rows match.
+ * <p>
+ * The indexes are loaded once the application is ready and follow the writes of this instance through Hibernate events: a value
+ * is added when its row is flushed and only removed once the change is committed, so a lookup may return values which no longer
+ * exist but never misses a flushed one. Rows written to the database behind Hibernate's back, or by another instance, are only seen
+ * after a restart, so the index is disabled by default ({@code application.search.enabled}) and should only be enabled where this
+ * instance is the only writer of the vehicles.
+ * <p>
+ * Whenever the index can't tell every value the {@code like} would match, the filter is left to the {@code like} alone: while the
+ * index is loading, and for substrings shorter than a trigram, holding {@code like} wildcards, not ASCII once case and accents are
+ * folded, or contained in more than {@code application.search.max-values} values.
+ */
+@Service
+public class VehicleSearchIndex {
+
+    private static final List<String> COLUMNS = List.of("marca", "modelo", "color");
+
+    private final Logger log = LoggerFactory.getLogger(VehicleSearchIndex.class);
+
+    private final EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Search properties;
+
+    private final Map<String, Map<String, TrigramIndex>> indexes = new LinkedHashMap<>();
+
+    private volatile boolean loaded;
+
+    public VehicleSearchIndex(
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getSearch();
+        for (Class<?> type : List.of(Coche.class, Moto.class)) {
+            Map<String, TrigramIndex> columns = new LinkedHashMap<>();
+            COLUMNS.forEach(column -> columns.put(column, new TrigramIndex()));
+            indexes.put(type.getName(), columns);
+        }
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        FlushListener flushListener = new FlushListener();
+        registry.appendListeners(EventType.POST_INSERT, flushListener);
+        registry.appendListeners(EventType.POST_UPDATE, flushListener);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, new CommitInsertListener());
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, new CommitUpdateListener());
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, new CommitDeleteListener());
+    }
+
+    /**
+     * Loads the distinct values of the indexed columns with the number of rows holding them, one grouped query per column.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!properties.isEnabled() || loaded) {
+            return;
+        }
+        indexes.forEach(
+            (entityName, columns) ->
+                columns.forEach(
+                    (column, index) -> {
+                        String entity = entityName.substring(entityName.lastIndexOf('.') + 1);
+                        entityManager
+                            .createQuery("select e." + column + ", count(e) from " + entity + " e group by e." + column, Object[].class)
+                            .getResultStream()
+                            .forEach(row -> index.add((String) row[0], (Long) row[1]));
+                    }
+                )
+        );
+        loaded = true;
+        log.debug("Vehicle search index loaded");
+    }
+
+    /**
+     * Narrows the {@code contains} part of a filter on an indexed column to the values which contain its substring.
+     *
+     * @param filter the filter of the column.
+     * @param column the indexed column.
+     * @param <ENTITY> the type of the entity.
+     * @return the specification to add to the one of the filter, or {@code null} if the index can't narrow it.
+     */
+    public <ENTITY> Specification<ENTITY> buildContainsSpecification(
+        StringFilter filter,
+        SingularAttribute<? super ENTITY, String> column
+    ) {
+        String substring = filter.getContains();
+        if (!loaded || substring == null || TrigramIndex.hasLikeWildcards(substring)) {
+            return null;
+        }
+        TrigramIndex index = indexes.getOrDefault(column.getDeclaringType().getJavaType().getName(), Map.of()).get(column.getName());
+        if (index == null) {
+            return null;
+        }
+        Optional<Set<String>> values = index.containing(substring, properties.getMaxValues());
+        if (values.isEmpty()) {
+            return null;
+        }
+        if (values.get().isEmpty()) {
+            return (root, query, builder) -> builder.disjunction();
+        }
+        return (root, query, builder) -> root.get(column).in(values.get());
+    }
+
+    //Aplica la operacion a cada columna indexada del estado de la entidad, si la entidad esta indexada
+    private void forEachColumn(EntityPersister persister, Object[] state, BiConsumer<TrigramIndex, String> operation) {
+        Map<String, TrigramIndex> columns = indexes.get(persister.getEntityName());
+        if (columns == null || state == null) {
+            return;
+        }
+        columns.forEach(
+            (column, index) -> operation.accept(index, (String) state[persister.getEntityMetamodel().getPropertyIndex(column)])
+        );
+    }
+
+    private boolean indexed(EntityPersister persister) {
+        return indexes.containsKey(persister.getEntityName());
+    }
+
+    private static void add(TrigramIndex index, String value) {
+        index.add(value, 1);
+    }
+
+    /**
+     * Adds the values of the flushed rows, even if their transaction is later rolled back.
+     */
+    private class FlushListener implements PostInsertEventListener, PostUpdateEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            forEachColumn(event.getPersister(), event.getState(), VehicleSearchIndex::add);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            forEachColumn(event.getPersister(), event.getState(), VehicleSearchIndex::add);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+
+    private class CommitInsertListener implements PostCommitInsertEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {}
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            forEachColumn(event.getPersister(), event.getState(), TrigramIndex::remove);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return indexed(persister);
+        }
+    }
+
+    private class CommitUpdateListener implements PostCommitUpdateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            forEachColumn(event.getPersister(), event.getOldState(), TrigramIndex::remove);
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            forEachColumn(event.getPersister(), event.getState(), TrigramIndex::remove);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return indexed(persister);
+        }
+    }
+
+    private class CommitDeleteListener implements PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            forEachColumn(event.getPersister(), event.getDeletedState(), TrigramIndex::remove);
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return indexed(persister);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.repository.VentaRepository;
+import com.mycompany.myapp.service.criteria.VentaCriteria;
+import com.mycompany.myapp.service.dto.VentaSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for executing complex queries for {@link Venta} entities in the database.
+ * The main input is a {@link VentaCriteria} which gets converted to {@link Specification},
+ * in a way that only the filters present in the criteria end up in the SQL, so every filter
+ * combination produces one compact statement.
+ */
+@Service
+@Transactional(readOnly = true)
+public class VentaQueryService extends EntityQueryService<Venta> {
+
+    private final Logger log = LoggerFactory.getLogger(VentaQueryService.class);
+
+    private static final Map<String, Function<Root<Venta>, Expression<?>>> EXPORT_COLUMNS = exportColumns();
+
+    //Las mismas asociaciones que el @EntityGraph de VentaRepository.findAll
+    private static final String[] FETCHED = { Venta_.CLIENTE, Venta_.EMPLEADO };
+
+    private final VentaRepository ventaRepository;
+
+    private final ExportService exportService;
+
+    private final PaginationService paginationService;
+
+    public VentaQueryService(VentaRepository ventaRepository, ExportService exportService, PaginationService paginationService) {
+        this.ventaRepository = ventaRepository;
+        this.exportService = exportService;
+        this.paginationService = paginationService;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Venta} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Venta> findByCriteria(VentaCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Venta> specification = createSpecification(criteria);
+        return ventaRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return the {@link KeysetSlice} of {@link Venta} which matches the criteria and follows the cursor, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The cursor of the previous slice, empty for the first one.
+     * @param page The size and sort of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<Venta> findByCriteriaAfter(VentaCriteria criteria, String cursor, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, cursor, page);
+        final Specification<Venta> specification = createSpecification(criteria);
+        return paginationService.findAfter(Venta.class, specification, cursor, page, FETCHED);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Venta} which matches the criteria from the database, counting them as requested.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param countMode How the matching entities are counted.
+     * @return the matching entities, as a {@link Page} unless they are not counted.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Venta> findByCriteria(VentaCriteria criteria, Pageable page, CountMode countMode) {
+        log.debug("find by criteria : {}, page: {}, count: {}", criteria, page, countMode);
+        final Specification<Venta> specification = createSpecification(criteria);
+        switch (countMode) {
+            case NONE:
+                return paginationService.findSlice(Venta.class, specification, page, FETCHED);
+            case ESTIMATE:
+                return paginationService.findEstimatedPage(
+                    Venta.class,
+                    specification,
+                    criteria,
+                    page,
+                    () -> ventaRepository.count(specification),
+                    FETCHED
+                );
+            default:
+                return ventaRepository.findAll(specification, page);
+        }
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(VentaCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Venta> specification = createSpecification(criteria);
+        return ventaRepository.count(specification);
+    }
+
+    /**
+     * Write the {@link Venta} which match the criteria to the given stream, one row at a time.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param sort The order of the rows.
+     * @param format The format of the rows.
+     * @param out The stream the rows are written to.
+     * @return the number of exported entities.
+     * @throws IOException if the rows can't be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(VentaCriteria criteria, Sort sort, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("export by criteria : {}, sort: {}, format: {}", criteria, sort, format);
+        final Specification<Venta> specification = createSpecification(criteria);
+        return exportService.export(Venta.class, specification, sort, EXPORT_COLUMNS, format, out);
+    }
+
+    /**
+     * Return a {@link Page} of {@link VentaSummaryDTO} of the ventas which match the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match, {@code null} to match all of them.
+     * @param page The page, which should be returned.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<VentaSummaryDTO> findSummariesByCriteria(VentaCriteria criteria, Pageable page) {
+        log.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Venta> specification = createSpecification(criteria);
+        return paginationService.findProjectedPage(
+            Venta.class,
+            VentaSummaryDTO.class,
+            VentaQueryService::summaryColumns,
+            specification,
+            page,
+            () -> ventaRepository.count(specification)
+        );
+    }
+
+    /**
+     * Function to convert {@link VentaCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Venta> createSpecification(VentaCriteria criteria) {
+        Specification<Venta> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildIdSpecification(criteria.getId(), root -> root.get(Venta_.id)));
+            }
+            if (criteria.getTotal() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getTotal(), Venta_.total));
+            }
+            if (criteria.getFecha() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getFecha(), Venta_.fecha));
+            }
+            if (criteria.getVehicleCount() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getVehicleCount(), Venta_.vehicleCount));
+            }
+            if (criteria.getComputedTotal() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getComputedTotal(), Venta_.computedTotal));
+            }
+            if (criteria.getClienteId() != null) {
+                specification =
+                    specification.and(
+                        buildIdSpecification(criteria.getClienteId(), root -> root.get(Venta_.cliente).get(Cliente_.id))
+                    );
+            }
+            if (criteria.getEmpleadoId() != null) {
+                specification =
+                    specification.and(
+                        buildIdSpecification(criteria.getEmpleadoId(), root -> root.get(Venta_.empleado).get(Empleado_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+
+    //Columnas del resumen: el nombre del cliente y del empleado, y el numero de vehiculos que VentaServiceImpl mantiene en la venta
+    private static List<Selection<?>> summaryColumns(Root<Venta> root, AbstractQuery<?> query, CriteriaBuilder builder) {
+        Join<Venta, Cliente> cliente = root.join(Venta_.cliente, JoinType.LEFT);
+        Join<Venta, Empleado> empleado = root.join(Venta_.empleado, JoinType.LEFT);
+        return List.of(
+            root.get(Venta_.id),
+            root.get(Venta_.total),
+            root.get(Venta_.fecha),
+            root.get(Venta_.vehicleCount),
+            root.get(Venta_.computedTotal),
+            cliente.get(Cliente_.id),
+            cliente.get(Cliente_.nombre),
+            cliente.get(Cliente_.apellidos),
+            empleado.get(Empleado_.id),
+            empleado.get(Empleado_.nombre),
+            empleado.get(Empleado_.apellidos)
+        );
+    }
+
+    private static Map<String, Function<Root<Venta>, Expression<?>>> exportColumns() {
+        Map<String, Function<Root<Venta>, Expression<?>>> columns = new LinkedHashMap<>();
+        columns.put("id", root -> root.get(Venta_.id));
+        columns.put("total", root -> root.get(Venta_.total));
+        columns.put("fecha", root -> root.get(Venta_.fecha));
+        columns.put("clienteId", root -> root.get(Venta_.cliente).get(Cliente_.id));
+        columns.put("empleadoId", root -> root.get(Venta_.empleado).get(Empleado_.id));
+        return columns;
+    }
+}
@@ -1,16 +1,31 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.criteria.VentaCriteria;
+import com.mycompany.myapp.service.dto.VentaStatsDTO;
+import com.mycompany.myapp.service.dto.VentaSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 /**
  * Service Interface for managing {@link Venta}.
  */
 public interface VentaService {
+    /**
+     * Cache of the snapshots read by {@link #findOne(Long)}, by id.
+     */
+    String VENTAS_BY_ID_CACHE = "ventasById";
+
     /**
      * Save a venta.
      *
@@ -27,6 +42,13 @@ public interface VentaService {
      */
     Optional<Venta> partialUpdate(Venta venta);
 
+    /**
+     * Recompute the number of vehicles and the computed total of the "id" venta, after one of its coches or motos changed.
+     *
+     * @param ventaId the id of the venta, ignored if null.
+     */
+    void refreshVehicleTotals(Long ventaId);
+
     /**
      * Get all the ventas.
      *
@@ -35,6 +57,26 @@ public interface VentaService {
      */
     Page<Venta> findAll(Pageable pageable);
 
+    /**
+     * Get the summaries of the ventas matching the criteria.
+     *
+     * @param criteria the filters, {@code null} to match all the ventas.
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    Page<VentaSummaryDTO> findAllSummaries(VentaCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the number of ventas, their revenue and their average total by group, from the pre-computed rollups.
+     *
+     * @param group how the ventas are grouped.
+     * @param from the first day of the DAY and MONTH groups, null for no limit.
+     * @param to the last day of the DAY and MONTH groups, null for no limit.
+     * @param pageable the pagination information.
+     * @return the list of statistics.
+     */
+    Page<VentaStatsDTO> getSalesStats(VentaStatsGroup group, LocalDate from, LocalDate to, Pageable pageable);
+
     /**
      * Get the "id" venta.
      *
@@ -50,20 +92,101 @@ public interface VentaService {
      * @param totalF the total of the entity(Range).
      * @param idC the id of  cliente the entity(Join).
      * @param idE the id of empleado the entity(Join).
+     * @param idMatch how the id, idC and idE filters are matched.
+     * @param countMode how the matching entities are counted.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
-    Page<Venta> getSelesByFilter(
-        Long id,
+    Slice<Venta> getSelesByFilter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        CountMode countMode,
+        Pageable pageable
+    );
+
+    /**
+     * Get the ventas matching the filter with keyset pagination: the slice following the cursor, without counting them.
+     * @param id the id of the entity.
+     * @param totalI the total of the entity(Range).
+     * @param totalF the total of the entity(Range).
+     * @param idC the id of  cliente the entity(Join).
+     * @param idE the id of empleado the entity(Join).
+     * @param idMatch how the id, idC and idE filters are matched.
+     * @param cursor the cursor of the previous slice, empty for the first one.
+     * @param pageable the size and sort of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     */
+    KeysetSlice<Venta> getSalesByFilterAfter(
+        List<Long> id,
         Double totalI,
         Double totalF,
         Instant fechaI,
         Instant fechaF,
-        Long idC,
-        Long idE,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        String cursor,
         Pageable pageable
     );
 
+    /**
+     * Get the summaries of the ventas matching the filter.
+     * @param id the id of the entity.
+     * @param totalI the minimum total of the entity.
+     * @param totalF the maximum total of the entity.
+     * @param fechaI the minimum fecha of the entity.
+     * @param fechaF the maximum fecha of the entity.
+     * @param idC the id of the cliente of the entity.
+     * @param idE the id of the empleado of the entity.
+     * @param idMatch how the id, idC and idE filters are matched.
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    Page<VentaSummaryDTO> getSaleSummariesByFilter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        Pageable pageable
+    );
+
+    /**
+     * Export the ventas matching the filter, one row at a time.
+     * @param id the id of the entity.
+     * @param totalI the total of the entity(Range).
+     * @param totalF the total of the entity(Range).
+     * @param idC the id of  cliente the entity(Join).
+     * @param idE the id of empleado the entity(Join).
+     * @param idMatch how the id, idC and idE filters are matched.
+     * @param sort the order of the rows.
+     * @param format the format of the rows.
+     * @param out the stream the rows are written to.
+     * @throws IOException if the rows can't be written.
+     */
+    void exportSalesByFilter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException;
+
     /**
      * Delete the "id" venta.
      *
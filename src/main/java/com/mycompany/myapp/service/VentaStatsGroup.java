@@ -0,0 +1,26 @@
+package com.mycompany.myapp.service;
+
+/**
+ * How the ventas are grouped by {@code GET /api/ventas/stats}.
+ */
+public enum VentaStatsGroup {
+    /**
+     * By the UTC day of their fecha; ventas without fecha are left out.
+     */
+    DAY,
+
+    /**
+     * By the UTC month of their fecha; ventas without fecha are left out.
+     */
+    MONTH,
+
+    /**
+     * By empleado; ventas without empleado are left out.
+     */
+    EMPLEADO,
+
+    /**
+     * By cliente; ventas without cliente are left out.
+     */
+    CLIENTE,
+}
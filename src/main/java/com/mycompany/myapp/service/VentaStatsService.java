@@ -0,0 +1,449 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.service.dto.VentaStatsDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+/**
+ * Number of ventas, revenue, vehicles sold and their computed revenue by day, by empleado and by cliente, kept in rollup tables
+ * instead of being aggregated from {@code venta} on every request.
+ * <p>
+ * Every write of a venta appends its change to {@code venta_rollup_delta} in the transaction which writes the venta, so the
+ * writes never contend on a rollup row and a rollback takes the change back with it. {@link #compact()} regularly folds the
+ * committed deltas into {@code venta_rollup}, which holds one row per group. The statistics read both tables in one statement,
+ * so they are always those of the committed ventas, compacted or not.
+ */
+@Service
+@Transactional
+public class VentaStatsService {
+
+    private static final long MAX_KEY = Long.MAX_VALUE;
+
+    private static final String MEASURES = "ventas, revenue, vehicles, computed_revenue";
+
+    private static final String SUMS = "sum(ventas), sum(revenue), sum(vehicles), sum(computed_revenue)";
+
+    //Clave de los grupos de cada consulta: el dia (yyyymmdd) o el mes (yyyymm) de las filas DAY
+    private static final String KEY = "dim_key";
+
+    private static final String MONTH_KEY = "floor(dim_key / 100)";
+
+    //Deltas que se compactan como mucho en cada ejecucion, el resto queda para la siguiente
+    private static final int COMPACT_BATCH = 10000;
+
+    private static final int DELETE_BATCH = 500;
+
+    //Medidas por las que se pueden ordenar los empleados y los clientes
+    private static final Map<String, String> RANKING_ORDERS = Map.of(
+        "count",
+        "sum(ventas)",
+        "revenue",
+        "sum(revenue)",
+        "vehicles",
+        "sum(vehicles)",
+        "computedRevenue",
+        "sum(computed_revenue)"
+    );
+
+    private final Logger log = LoggerFactory.getLogger(VentaStatsService.class);
+
+    private final EntityManager entityManager;
+
+    public VentaStatsService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Records the change of a venta, in the transaction which writes it.
+     *
+     * @param before what the venta counted before the write, null if it is created.
+     * @param after what the venta counts after the write, null if it is deleted.
+     */
+    public void record(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        for (Dimension dimension : Dimension.values()) {
+            Long keyBefore = before == null ? null : dimension.key.apply(before);
+            Long keyAfter = after == null ? null : dimension.key.apply(after);
+            if (keyBefore != null && keyBefore.equals(keyAfter)) {
+                //Sigue en el mismo grupo, solo cambian sus medidas
+                Measures change = after.measures.minus(before.measures, 0);
+                if (!change.isZero()) {
+                    appendDelta(dimension, keyAfter, change);
+                }
+                continue;
+            }
+            if (keyBefore != null) {
+                appendDelta(dimension, keyBefore, Measures.NONE.minus(before.measures, -1));
+            }
+            if (keyAfter != null) {
+                appendDelta(dimension, keyAfter, after.measures);
+            }
+        }
+    }
+
+    private void appendDelta(Dimension dimension, long key, Measures delta) {
+        Query insert = statement(
+            "insert into venta_rollup_delta (dimension, dim_key, " + MEASURES + ") values (?, ?, ?, ?, ?, ?)",
+            "venta_rollup_delta"
+        );
+        parameters(insert, new Object[] { dimension.name(), key, delta.ventas, delta.revenue, delta.vehicles, delta.computedRevenue })
+            .executeUpdate();
+    }
+
+    /**
+     * Get the statistics of the ventas by group.
+     *
+     * @param group how the ventas are grouped.
+     * @param from the first day of the DAY and MONTH groups, null for no limit.
+     * @param to the last day of the DAY and MONTH groups, null for no limit.
+     * @param pageable the pagination information; periods are sorted in chronological order, empleados and clientes by the
+     *                 first of {@code count}, {@code revenue}, {@code vehicles} or {@code computedRevenue} in the sort,
+     *                 decreasing revenue by default.
+     * @return the page of statistics.
+     */
+    @Transactional(readOnly = true)
+    public Page<VentaStatsDTO> findStats(VentaStatsGroup group, LocalDate from, LocalDate to, Pageable pageable) {
+        switch (group) {
+            case DAY:
+                return periods(KEY, from, to, pageable).map(row -> row.measures.toDTO(dayOf(row.key).toString(), null, null));
+            case MONTH:
+                return periods(MONTH_KEY, from, to, pageable).map(row -> row.measures.toDTO(monthOf(row.key).toString(), null, null));
+            case EMPLEADO:
+                return page(Dimension.EMPLEADO, KEY, 0, MAX_KEY, rankingOrder(pageable.getSort()), pageable)
+                    .map(row -> row.measures.toDTO(null, row.key, null));
+            default:
+                return page(Dimension.CLIENTE, KEY, 0, MAX_KEY, rankingOrder(pageable.getSort()), pageable)
+                    .map(row -> row.measures.toDTO(null, null, row.key));
+        }
+    }
+
+    //Los meses se agrupan en la propia consulta, asi solo se leen las filas de la pagina
+    private Page<Row> periods(String key, LocalDate from, LocalDate to, Pageable pageable) {
+        long fromKey = from == null ? 0 : dayKey(from);
+        long toKey = to == null ? MAX_KEY : dayKey(to);
+        return page(Dimension.DAY, key, fromKey, toKey, " order by " + key, pageable);
+    }
+
+    private Page<Row> page(Dimension dimension, String key, long from, long to, String orderBy, Pageable pageable) {
+        List<Row> rows = rows(dimension, key, from, to, orderBy, pageable);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+        Query count = entityManager.createNativeQuery("select count(*) from (" + groups(key) + ") g");
+        Number total = (Number) bind(count, dimension, from, to).getSingleResult();
+        return new PageImpl<>(rows, pageable, total.longValue());
+    }
+
+    private static String rankingOrder(Sort sort) {
+        for (Sort.Order order : sort) {
+            String sum = RANKING_ORDERS.get(order.getProperty());
+            if (sum != null) {
+                return " order by " + sum + (order.isAscending() ? " asc" : " desc") + ", dim_key";
+            }
+        }
+        return " order by sum(revenue) desc, dim_key";
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Row> rows(Dimension dimension, String key, long from, long to, String orderBy, Pageable pageable) {
+        Query query = bind(entityManager.createNativeQuery(groups(key) + orderBy), dimension, from, to);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<Row> rows = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            rows.add(new Row(((Number) row[0]).longValue(), Measures.read(row, 1)));
+        }
+        return rows;
+    }
+
+    private static String groups(String key) {
+        return (
+            "select " +
+            key +
+            ", " +
+            SUMS +
+            " from (" +
+            "select dim_key, ventas, revenue, vehicles, computed_revenue from venta_rollup " +
+            "where dimension = :dimension and dim_key between :from and :to " +
+            "union all " +
+            "select dim_key, ventas, revenue, vehicles, computed_revenue from venta_rollup_delta " +
+            "where dimension = :dimension and dim_key between :from and :to" +
+            ") r group by " +
+            key +
+            " having sum(ventas) > 0"
+        );
+    }
+
+    private static Query bind(Query query, Dimension dimension, long from, long to) {
+        return query.setParameter("dimension", dimension.name()).setParameter("from", from).setParameter("to", to);
+    }
+
+    /**
+     * Folds the committed deltas recorded so far, up to {@value #COMPACT_BATCH} of them, into {@code venta_rollup}.
+     * <p>
+     * Writes keep appending deltas meanwhile, and those which aren't committed yet are left for the next run. If another instance
+     * compacts the same deltas at the same time, the one which finds them already deleted rolls back and leaves them to the other.
+     */
+    @Scheduled(fixedDelayString = "${application.venta-stats.compact-interval:PT1M}")
+    public void compact() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> deltas = entityManager
+            .createNativeQuery("select id, dimension, dim_key, " + MEASURES + " from venta_rollup_delta order by id")
+            .setMaxResults(COMPACT_BATCH)
+            .getResultList();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        Map<List<Object>, Measures> groups = new LinkedHashMap<>();
+        for (Object[] delta : deltas) {
+            ids.add(((Number) delta[0]).longValue());
+            groups.merge(List.of(String.valueOf(delta[1]), ((Number) delta[2]).longValue()), Measures.read(delta, 3), Measures::plus);
+        }
+        //Se borran justo los deltas leidos, antes de sumarlos, para saber si otra instancia se ha adelantado
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH) {
+            deleted +=
+                statement("delete from venta_rollup_delta where id in (:ids)", "venta_rollup_delta")
+                    .setParameter("ids", ids.subList(i, Math.min(i + DELETE_BATCH, ids.size())))
+                    .executeUpdate();
+        }
+        if (deleted != ids.size()) {
+            log.debug("The venta rollup deltas are being compacted by another instance, skipping");
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return;
+        }
+        groups.forEach(
+            (group, sum) -> {
+                Object[] values = { sum.ventas, sum.revenue, sum.vehicles, sum.computedRevenue, group.get(0), group.get(1) };
+                Query update = statement(
+                    "update venta_rollup set ventas = ventas + ?, revenue = revenue + ?, vehicles = vehicles + ?, " +
+                    "computed_revenue = computed_revenue + ? where dimension = ? and dim_key = ?",
+                    "venta_rollup"
+                );
+                if (parameters(update, values).executeUpdate() == 0) {
+                    Query insert = statement(
+                        "insert into venta_rollup (" + MEASURES + ", dimension, dim_key) values (?, ?, ?, ?, ?, ?)",
+                        "venta_rollup"
+                    );
+                    parameters(insert, values).executeUpdate();
+                }
+            }
+        );
+        //Los grupos sin ventas, como el cliente cuyas ventas se han borrado, no se muestran
+        statement("delete from venta_rollup where ventas = 0", "venta_rollup").executeUpdate();
+        log.debug("Compacted {} venta rollup deltas into {} groups", ids.size(), groups.size());
+    }
+
+    //Sin declarar la tabla que modifica, hibernate vaciaria toda la cache de segundo nivel tras cada sentencia nativa
+    private Query statement(String sql, String table) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+    }
+
+    private static Query parameters(Query query, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            query.setParameter(i + 1, values[i]);
+        }
+        return query;
+    }
+
+    private static long dayKey(LocalDate day) {
+        return day.getYear() * 10000L + day.getMonthValue() * 100 + day.getDayOfMonth();
+    }
+
+    private static LocalDate dayOf(long key) {
+        return LocalDate.of((int) (key / 10000), (int) (key / 100 % 100), (int) (key % 100));
+    }
+
+    private static YearMonth monthOf(long key) {
+        return YearMonth.of((int) (key / 100), (int) (key % 100));
+    }
+
+    /**
+     * What one venta counts in the statistics: its total, vehicles and computed total, in the groups of its UTC day, its empleado
+     * and its cliente.
+     */
+    public static final class Contribution {
+
+        private final Long day;
+
+        private final Long empleadoId;
+
+        private final Long clienteId;
+
+        private final Measures measures;
+
+        private Contribution(Long day, Long empleadoId, Long clienteId, Measures measures) {
+            this.day = day;
+            this.empleadoId = empleadoId;
+            this.clienteId = clienteId;
+            this.measures = measures;
+        }
+
+        /**
+         * @param venta the venta, as it is now.
+         * @return a copy of what it counts, which later changes to the venta don't affect.
+         */
+        public static Contribution of(Venta venta) {
+            Instant fecha = venta.getFecha();
+            return new Contribution(
+                fecha == null ? null : dayKey(fecha.atZone(ZoneOffset.UTC).toLocalDate()),
+                venta.getEmpleado() == null ? null : venta.getEmpleado().getId(),
+                venta.getCliente() == null ? null : venta.getCliente().getId(),
+                new Measures(
+                    1,
+                    venta.getTotal() == null ? 0 : venta.getTotal(),
+                    venta.getVehicleCount() == null ? 0 : venta.getVehicleCount(),
+                    venta.getComputedTotal() == null ? 0 : venta.getComputedTotal()
+                )
+            );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Contribution)) {
+                return false;
+            }
+            Contribution other = (Contribution) o;
+            return (
+                Objects.equals(day, other.day) &&
+                Objects.equals(empleadoId, other.empleadoId) &&
+                Objects.equals(clienteId, other.clienteId) &&
+                measures.equals(other.measures)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, empleadoId, clienteId, measures);
+        }
+    }
+
+    private static final class Measures {
+
+        private static final Measures NONE = new Measures(0, 0, 0, 0);
+
+        private final long ventas;
+
+        private final double revenue;
+
+        private final long vehicles;
+
+        private final double computedRevenue;
+
+        Measures(long ventas, double revenue, long vehicles, double computedRevenue) {
+            this.ventas = ventas;
+            this.revenue = revenue;
+            this.vehicles = vehicles;
+            this.computedRevenue = computedRevenue;
+        }
+
+        //Lee las cuatro sumas de una fila a partir de la columna indicada
+        static Measures read(Object[] row, int first) {
+            return new Measures(
+                ((Number) row[first]).longValue(),
+                ((Number) row[first + 1]).doubleValue(),
+                ((Number) row[first + 2]).longValue(),
+                ((Number) row[first + 3]).doubleValue()
+            );
+        }
+
+        Measures plus(Measures other) {
+            return new Measures(
+                ventas + other.ventas,
+                revenue + other.revenue,
+                vehicles + other.vehicles,
+                computedRevenue + other.computedRevenue
+            );
+        }
+
+        /**
+         * @param ventas the number of ventas of the difference, which a change of the same venta leaves at 0.
+         */
+        Measures minus(Measures other, long ventas) {
+            return new Measures(ventas, revenue - other.revenue, vehicles - other.vehicles, computedRevenue - other.computedRevenue);
+        }
+
+        boolean isZero() {
+            return ventas == 0 && revenue == 0 && vehicles == 0 && computedRevenue == 0;
+        }
+
+        VentaStatsDTO toDTO(String period, Long empleadoId, Long clienteId) {
+            return new VentaStatsDTO(period, empleadoId, clienteId, ventas, revenue, vehicles, computedRevenue);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Measures)) {
+                return false;
+            }
+            Measures other = (Measures) o;
+            return (
+                ventas == other.ventas &&
+                Double.compare(revenue, other.revenue) == 0 &&
+                vehicles == other.vehicles &&
+                Double.compare(computedRevenue, other.computedRevenue) == 0
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ventas, revenue, vehicles, computedRevenue);
+        }
+    }
+
+    private enum Dimension {
+        DAY(contribution -> contribution.day),
+        EMPLEADO(contribution -> contribution.empleadoId),
+        CLIENTE(contribution -> contribution.clienteId);
+
+        private final Function<Contribution, Long> key;
+
+        Dimension(Function<Contribution, Long> key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Row {
+
+        private final long key;
+
+        private final Measures measures;
+
+        Row(long key, Measures measures) {
+            this.key = key;
+            this.measures = measures;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.Cliente} entity. This class is used
+ * in {@link com.mycompany.myapp.service.ClienteQueryService} to build only the predicates a filter actually uses.
+ * Filters left {@code null} don't contribute to the generated query.
+ */
+public class ClienteCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private IdFilter id;
+
+    private StringFilter nombre;
+
+    private StringFilter apellidos;
+
+    private StringFilter dni;
+
+    public ClienteCriteria() {}
+
+    public ClienteCriteria(ClienteCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.nombre = other.nombre == null ? null : other.nombre.copy();
+        this.apellidos = other.apellidos == null ? null : other.apellidos.copy();
+        this.dni = other.dni == null ? null : other.dni.copy();
+    }
+
+    @Override
+    public ClienteCriteria copy() {
+        return new ClienteCriteria(this);
+    }
+
+    public IdFilter getId() {
+        return id;
+    }
+
+    public IdFilter id() {
+        if (id == null) {
+            id = new IdFilter();
+        }
+        return id;
+    }
+
+    public void setId(IdFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getNombre() {
+        return nombre;
+    }
+
+    public StringFilter nombre() {
+        if (nombre == null) {
+            nombre = new StringFilter();
+        }
+        return nombre;
+    }
+
+    public void setNombre(StringFilter nombre) {
+        this.nombre = nombre;
+    }
+
+    public StringFilter getApellidos() {
+        return apellidos;
+    }
+
+    public StringFilter apellidos() {
+        if (apellidos == null) {
+            apellidos = new StringFilter();
+        }
+        return apellidos;
+    }
+
+    public void setApellidos(StringFilter apellidos) {
+        this.apellidos = apellidos;
+    }
+
+    public StringFilter getDni() {
+        return dni;
+    }
+
+    public StringFilter dni() {
+        if (dni == null) {
+            dni = new StringFilter();
+        }
+        return dni;
+    }
+
+    public void setDni(StringFilter dni) {
+        this.dni = dni;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ClienteCriteria that = (ClienteCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(nombre, that.nombre) &&
+            Objects.equals(apellidos, that.apellidos) &&
+            Objects.equals(dni, that.dni)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nombre, apellidos, dni);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClienteCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (nombre != null ? "nombre=" + nombre + ", " : "") +
+            (apellidos != null ? "apellidos=" + apellidos + ", " : "") +
+            (dni != null ? "dni=" + dni + ", " : "") +
+            "}";
+    }
+}
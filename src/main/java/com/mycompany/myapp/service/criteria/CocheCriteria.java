@@ -0,0 +1,193 @@
+package com.mycompany.myapp.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.Coche} entity. This class is used
+ * in {@link com.mycompany.myapp.service.CocheQueryService} to build only the predicates a filter actually uses.
+ * Filters left {@code null} don't contribute to the generated query.
+ */
+public class CocheCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private IdFilter id;
+
+    private StringFilter color;
+
+    private StringFilter modelo;
+
+    private StringFilter marca;
+
+    private InstantFilter anio;
+
+    private DoubleFilter precio;
+
+    private IdFilter ventaId;
+
+    public CocheCriteria() {}
+
+    public CocheCriteria(CocheCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.color = other.color == null ? null : other.color.copy();
+        this.modelo = other.modelo == null ? null : other.modelo.copy();
+        this.marca = other.marca == null ? null : other.marca.copy();
+        this.anio = other.anio == null ? null : other.anio.copy();
+        this.precio = other.precio == null ? null : other.precio.copy();
+        this.ventaId = other.ventaId == null ? null : other.ventaId.copy();
+    }
+
+    @Override
+    public CocheCriteria copy() {
+        return new CocheCriteria(this);
+    }
+
+    public IdFilter getId() {
+        return id;
+    }
+
+    public IdFilter id() {
+        if (id == null) {
+            id = new IdFilter();
+        }
+        return id;
+    }
+
+    public void setId(IdFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getColor() {
+        return color;
+    }
+
+    public StringFilter color() {
+        if (color == null) {
+            color = new StringFilter();
+        }
+        return color;
+    }
+
+    public void setColor(StringFilter color) {
+        this.color = color;
+    }
+
+    public StringFilter getModelo() {
+        return modelo;
+    }
+
+    public StringFilter modelo() {
+        if (modelo == null) {
+            modelo = new StringFilter();
+        }
+        return modelo;
+    }
+
+    public void setModelo(StringFilter modelo) {
+        this.modelo = modelo;
+    }
+
+    public StringFilter getMarca() {
+        return marca;
+    }
+
+    public StringFilter marca() {
+        if (marca == null) {
+            marca = new StringFilter();
+        }
+        return marca;
+    }
+
+    public void setMarca(StringFilter marca) {
+        this.marca = marca;
+    }
+
+    public InstantFilter getAnio() {
+        return anio;
+    }
+
+    public InstantFilter anio() {
+        if (anio == null) {
+            anio = new InstantFilter();
+        }
+        return anio;
+    }
+
+    public void setAnio(InstantFilter anio) {
+        this.anio = anio;
+    }
+
+    public DoubleFilter getPrecio() {
+        return precio;
+    }
+
+    public DoubleFilter precio() {
+        if (precio == null) {
+            precio = new DoubleFilter();
+        }
+        return precio;
+    }
+
+    public void setPrecio(DoubleFilter precio) {
+        this.precio = precio;
+    }
+
+    public IdFilter getVentaId() {
+        return ventaId;
+    }
+
+    public IdFilter ventaId() {
+        if (ventaId == null) {
+            ventaId = new IdFilter();
+        }
+        return ventaId;
+    }
+
+    public void setVentaId(IdFilter ventaId) {
+        this.ventaId = ventaId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CocheCriteria that = (CocheCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(color, that.color) &&
+            Objects.equals(modelo, that.modelo) &&
+            Objects.equals(marca, that.marca) &&
+            Objects.equals(anio, that.anio) &&
+            Objects.equals(precio, that.precio) &&
+            Objects.equals(ventaId, that.ventaId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, color, modelo, marca, anio, precio, ventaId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CocheCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (color != null ? "color=" + color + ", " : "") +
+            (modelo != null ? "modelo=" + modelo + ", " : "") +
+            (marca != null ? "marca=" + marca + ", " : "") +
+            (anio != null ? "anio=" + anio + ", " : "") +
+            (precio != null ? "precio=" + precio + ", " : "") +
+            (ventaId != null ? "ventaId=" + ventaId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycompany.myapp.service.criteria;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * {@link LongFilter} for identifier columns which can also be matched by the prefix of the textual form of the id.
+ * Prefix matching casts the column to a string, so it can't use the primary/foreign key indexes.
+ */
+public class IdFilter extends LongFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private String startsWith;
+
+    public IdFilter() {}
+
+    public IdFilter(IdFilter filter) {
+        super(filter);
+        this.startsWith = filter.startsWith;
+    }
+
+    /**
+     * Builds the filter for the ids received by the filter endpoints, where {@code 0} means "no filter".
+     *
+     * @param ids the requested ids.
+     * @param match how the ids are matched; with {@link IdMatch#PREFIX} only the first id is used.
+     * @return the filter, or {@code null} if no id was requested.
+     */
+    public static IdFilter of(Collection<Long> ids, IdMatch match) {
+        if (ids == null) {
+            return null;
+        }
+        List<Long> values = ids.stream().filter(id -> id != null && id != 0).distinct().collect(Collectors.toList());
+        if (values.isEmpty()) {
+            return null;
+        }
+        IdFilter filter = new IdFilter();
+        if (match == IdMatch.PREFIX) {
+            filter.setStartsWith(values.get(0).toString());
+        } else if (values.size() == 1) {
+            filter.setEquals(values.get(0));
+        } else {
+            filter.setIn(values);
+        }
+        return filter;
+    }
+
+    @Override
+    public IdFilter copy() {
+        return new IdFilter(this);
+    }
+
+    public String getStartsWith() {
+        return startsWith;
+    }
+
+    public IdFilter setStartsWith(String startsWith) {
+        this.startsWith = startsWith;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final IdFilter that = (IdFilter) o;
+        return Objects.equals(startsWith, that.startsWith);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), startsWith);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + (getStartsWith() != null ? "[startsWith=" + getStartsWith() + "]" : "");
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycompany.myapp.service.criteria;
+
+/**
+ * How the id parameters of the filter endpoints are matched.
+ */
+public enum IdMatch {
+    /**
+     * Equality for a single id and an IN-list for several, both served by the primary/foreign key indexes.
+     */
+    EXACT,
+    /**
+     * Prefix match on the textual form of the id, meant for autocomplete fields. It can't use the indexes.
+     */
+    PREFIX,
+}
@@ -0,0 +1,193 @@
+package com.mycompany.myapp.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.IntegerFilter;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.Venta} entity. This class is used
+ * in {@link com.mycompany.myapp.service.VentaQueryService} to build only the predicates a filter actually uses.
+ * Filters left {@code null} don't contribute to the generated query.
+ */
+public class VentaCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private IdFilter id;
+
+    private DoubleFilter total;
+
+    private InstantFilter fecha;
+
+    private IntegerFilter vehicleCount;
+
+    private DoubleFilter computedTotal;
+
+    private IdFilter clienteId;
+
+    private IdFilter empleadoId;
+
+    public VentaCriteria() {}
+
+    public VentaCriteria(VentaCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.total = other.total == null ? null : other.total.copy();
+        this.fecha = other.fecha == null ? null : other.fecha.copy();
+        this.vehicleCount = other.vehicleCount == null ? null : other.vehicleCount.copy();
+        this.computedTotal = other.computedTotal == null ? null : other.computedTotal.copy();
+        this.clienteId = other.clienteId == null ? null : other.clienteId.copy();
+        this.empleadoId = other.empleadoId == null ? null : other.empleadoId.copy();
+    }
+
+    @Override
+    public VentaCriteria copy() {
+        return new VentaCriteria(this);
+    }
+
+    public IdFilter getId() {
+        return id;
+    }
+
+    public IdFilter id() {
+        if (id == null) {
+            id = new IdFilter();
+        }
+        return id;
+    }
+
+    public void setId(IdFilter id) {
+        this.id = id;
+    }
+
+    public DoubleFilter getTotal() {
+        return total;
+    }
+
+    public DoubleFilter total() {
+        if (total == null) {
+            total = new DoubleFilter();
+        }
+        return total;
+    }
+
+    public void setTotal(DoubleFilter total) {
+        this.total = total;
+    }
+
+    public InstantFilter getFecha() {
+        return fecha;
+    }
+
+    public InstantFilter fecha() {
+        if (fecha == null) {
+            fecha = new InstantFilter();
+        }
+        return fecha;
+    }
+
+    public void setFecha(InstantFilter fecha) {
+        this.fecha = fecha;
+    }
+
+    public IntegerFilter getVehicleCount() {
+        return vehicleCount;
+    }
+
+    public IntegerFilter vehicleCount() {
+        if (vehicleCount == null) {
+            vehicleCount = new IntegerFilter();
+        }
+        return vehicleCount;
+    }
+
+    public void setVehicleCount(IntegerFilter vehicleCount) {
+        this.vehicleCount = vehicleCount;
+    }
+
+    public DoubleFilter getComputedTotal() {
+        return computedTotal;
+    }
+
+    public DoubleFilter computedTotal() {
+        if (computedTotal == null) {
+            computedTotal = new DoubleFilter();
+        }
+        return computedTotal;
+    }
+
+    public void setComputedTotal(DoubleFilter computedTotal) {
+        this.computedTotal = computedTotal;
+    }
+
+    public IdFilter getClienteId() {
+        return clienteId;
+    }
+
+    public IdFilter clienteId() {
+        if (clienteId == null) {
+            clienteId = new IdFilter();
+        }
+        return clienteId;
+    }
+
+    public void setClienteId(IdFilter clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public IdFilter getEmpleadoId() {
+        return empleadoId;
+    }
+
+    public IdFilter empleadoId() {
+        if (empleadoId == null) {
+            empleadoId = new IdFilter();
+        }
+        return empleadoId;
+    }
+
+    public void setEmpleadoId(IdFilter empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final VentaCriteria that = (VentaCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(total, that.total) &&
+            Objects.equals(fecha, that.fecha) &&
+            Objects.equals(vehicleCount, that.vehicleCount) &&
+            Objects.equals(computedTotal, that.computedTotal) &&
+            Objects.equals(clienteId, that.clienteId) &&
+            Objects.equals(empleadoId, that.empleadoId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, total, fecha, vehicleCount, computedTotal, clienteId, empleadoId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (total != null ? "total=" + total + ", " : "") +
+            (fecha != null ? "fecha=" + fecha + ", " : "") +
+            (vehicleCount != null ? "vehicleCount=" + vehicleCount + ", " : "") +
+            (computedTotal != null ? "computedTotal=" + computedTotal + ", " : "") +
+            (clienteId != null ? "clienteId=" + clienteId + ", " : "") +
+            (empleadoId != null ? "empleadoId=" + empleadoId + ", " : "") +
+            "}";
+    }
+}
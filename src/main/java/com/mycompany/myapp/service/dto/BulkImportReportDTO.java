@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk import - how many rows were read, stored and rejected, and why the first
+ * {@value #MAX_ERRORS} rejected ones failed.
+ */
+public class BulkImportReportDTO {
+
+    public static final int MAX_ERRORS = 1000;
+
+    private long rows;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public BulkImportReportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Counts a rejected row, and lists it if fewer than {@value #MAX_ERRORS} are listed.
+     */
+    public void addError(long row, List<String> messages) {
+        this.rejected++;
+        if (this.errors.size() < MAX_ERRORS) {
+            this.errors.add(new RowError(row, messages));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportReportDTO{" + "rows=" + rows + ", imported=" + imported + ", rejected=" + rejected + "}";
+    }
+
+    /**
+     * A rejected row, identified by its 1-based position in the request body (the CSV header is not counted).
+     */
+    public static class RowError {
+
+        private long row;
+
+        private List<String> messages;
+
+        public RowError() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowError(long row, List<String> messages) {
+            this.row = row;
+            this.messages = messages;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+
+        public void setMessages(List<String> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public String toString() {
+            return "RowError{" + "row=" + row + ", messages=" + messages + "}";
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Cliente;
+import java.io.Serializable;
+
+/**
+ * An immutable copy of a {@link Cliente}, kept in {@link com.mycompany.myapp.service.ClienteService#CLIENTES_BY_ID_CACHE},
+ * shared by every reader of the cache.
+ */
+public final class ClienteSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nombre;
+
+    private final String apellidos;
+
+    private final String dni;
+
+    public ClienteSnapshotDTO(Cliente cliente) {
+        this.id = cliente.getId();
+        this.nombre = cliente.getNombre();
+        this.apellidos = cliente.getApellidos();
+        this.dni = cliente.getDni();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellidos() {
+        return apellidos;
+    }
+
+    public String getDni() {
+        return dni;
+    }
+
+    /**
+     * @return a new detached cliente, without its ventas.
+     */
+    public Cliente toEntity() {
+        return new Cliente().id(id).nombre(nombre).apellidos(apellidos).dni(dni).ventas(null);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClienteSnapshotDTO{" +
+            "id=" + id +
+            ", nombre='" + nombre + "'" +
+            ", apellidos='" + apellidos + "'" +
+            ", dni='" + dni + "'" +
+            "}";
+    }
+}
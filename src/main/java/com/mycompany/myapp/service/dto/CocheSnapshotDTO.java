@@ -0,0 +1,94 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Coche;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An immutable copy of a {@link Coche}, kept in {@link com.mycompany.myapp.service.CocheService#COCHES_BY_ID_CACHE},
+ * shared by every reader of the cache.
+ */
+public final class CocheSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String color;
+
+    private final String modelo;
+
+    private final String marca;
+
+    private final Instant anio;
+
+    private final Double precio;
+
+    private final VentaSnapshotDTO venta;
+
+    public CocheSnapshotDTO(Coche coche) {
+        this.id = coche.getId();
+        this.color = coche.getColor();
+        this.modelo = coche.getModelo();
+        this.marca = coche.getMarca();
+        this.anio = coche.getAnio();
+        this.precio = coche.getPrecio();
+        this.venta = VentaSnapshotDTO.withoutParties(coche.getVenta());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getModelo() {
+        return modelo;
+    }
+
+    public String getMarca() {
+        return marca;
+    }
+
+    public Instant getAnio() {
+        return anio;
+    }
+
+    public Double getPrecio() {
+        return precio;
+    }
+
+    public VentaSnapshotDTO getVenta() {
+        return venta;
+    }
+
+    /**
+     * @return a new detached coche.
+     */
+    public Coche toEntity() {
+        return new Coche()
+            .id(id)
+            .color(color)
+            .modelo(modelo)
+            .marca(marca)
+            .anio(anio)
+            .precio(precio)
+            .venta(venta != null ? venta.toEntity() : null);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CocheSnapshotDTO{" +
+            "id=" + id +
+            ", color='" + color + "'" +
+            ", modelo='" + modelo + "'" +
+            ", marca='" + marca + "'" +
+            ", anio='" + anio + "'" +
+            ", precio=" + precio +
+            ", venta=" + venta +
+            "}";
+    }
+}
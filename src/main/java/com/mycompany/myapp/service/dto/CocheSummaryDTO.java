@@ -0,0 +1,81 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A read-only summary of a {@link com.mycompany.myapp.domain.Coche}, for the list endpoints.
+ * <p>
+ * It is built by a constructor expression from the columns of the coche alone, with the id of its venta instead of the venta
+ * itself, so listing it neither joins the venta nor loads or manages any entity.
+ */
+public final class CocheSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String color;
+
+    private final String modelo;
+
+    private final String marca;
+
+    private final Instant anio;
+
+    private final Double precio;
+
+    private final Long ventaId;
+
+    public CocheSummaryDTO(Long id, String color, String modelo, String marca, Instant anio, Double precio, Long ventaId) {
+        this.id = id;
+        this.color = color;
+        this.modelo = modelo;
+        this.marca = marca;
+        this.anio = anio;
+        this.precio = precio;
+        this.ventaId = ventaId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getModelo() {
+        return modelo;
+    }
+
+    public String getMarca() {
+        return marca;
+    }
+
+    public Instant getAnio() {
+        return anio;
+    }
+
+    public Double getPrecio() {
+        return precio;
+    }
+
+    public Long getVentaId() {
+        return ventaId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CocheSummaryDTO{" +
+            "id=" + id +
+            ", color='" + color + "'" +
+            ", modelo='" + modelo + "'" +
+            ", marca='" + marca + "'" +
+            ", anio='" + anio + "'" +
+            ", precio=" + precio +
+            ", ventaId=" + ventaId +
+            "}";
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Empleado;
+import java.io.Serializable;
+
+/**
+ * An immutable copy of a {@link Empleado}, kept in {@link com.mycompany.myapp.service.EmpleadoService#EMPLEADOS_BY_ID_CACHE},
+ * shared by every reader of the cache.
+ */
+public final class EmpleadoSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nombre;
+
+    private final String apellidos;
+
+    private final String dni;
+
+    public EmpleadoSnapshotDTO(Empleado empleado) {
+        this.id = empleado.getId();
+        this.nombre = empleado.getNombre();
+        this.apellidos = empleado.getApellidos();
+        this.dni = empleado.getDni();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellidos() {
+        return apellidos;
+    }
+
+    public String getDni() {
+        return dni;
+    }
+
+    /**
+     * @return a new detached empleado, without its ventas.
+     */
+    public Empleado toEntity() {
+        return new Empleado().id(id).nombre(nombre).apellidos(apellidos).dni(dni).ventas(null);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmpleadoSnapshotDTO{" +
+            "id=" + id +
+            ", nombre='" + nombre + "'" +
+            ", apellidos='" + apellidos + "'" +
+            ", dni='" + dni + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Moto;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An immutable copy of a {@link Moto}, kept in {@link com.mycompany.myapp.service.MotoService#MOTOS_BY_ID_CACHE},
+ * shared by every reader of the cache.
+ */
+public final class MotoSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String color;
+
+    private final String modelo;
+
+    private final String marca;
+
+    private final Instant anio;
+
+    private final Double precio;
+
+    private final VentaSnapshotDTO venta;
+
+    public MotoSnapshotDTO(Moto moto) {
+        this.id = moto.getId();
+        this.color = moto.getColor();
+        this.modelo = moto.getModelo();
+        this.marca = moto.getMarca();
+        this.anio = moto.getAnio();
+        this.precio = moto.getPrecio();
+        this.venta = VentaSnapshotDTO.withoutParties(moto.getVenta());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getModelo() {
+        return modelo;
+    }
+
+    public String getMarca() {
+        return marca;
+    }
+
+    public Instant getAnio() {
+        return anio;
+    }
+
+    public Double getPrecio() {
+        return precio;
+    }
+
+    public VentaSnapshotDTO getVenta() {
+        return venta;
+    }
+
+    /**
+     * @return a new detached moto.
+     */
+    public Moto toEntity() {
+        return new Moto()
+            .id(id)
+            .color(color)
+            .modelo(modelo)
+            .marca(marca)
+            .anio(anio)
+            .precio(precio)
+            .venta(venta != null ? venta.toEntity() : null);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MotoSnapshotDTO{" +
+            "id=" + id +
+            ", color='" + color + "'" +
+            ", modelo='" + modelo + "'" +
+            ", marca='" + marca + "'" +
+            ", anio='" + anio + "'" +
+            ", precio=" + precio +
+            ", venta=" + venta +
+            "}";
+    }
+}
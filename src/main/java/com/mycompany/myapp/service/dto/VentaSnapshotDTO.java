@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.Venta;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An immutable copy of a {@link Venta}, kept in {@link com.mycompany.myapp.service.VentaService#VENTAS_BY_ID_CACHE},
+ * shared by every reader of the cache.
+ * <p>
+ * The coches and motos are lazy, and were never part of the response of {@code GET /api/ventas/{id}}, so they are not copied.
+ */
+public final class VentaSnapshotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final Double total;
+
+    private final Instant fecha;
+
+    private final Integer vehicleCount;
+
+    private final Double computedTotal;
+
+    private final ClienteSnapshotDTO cliente;
+
+    private final EmpleadoSnapshotDTO empleado;
+
+    public VentaSnapshotDTO(Venta venta) {
+        this(venta, true);
+    }
+
+    private VentaSnapshotDTO(Venta venta, boolean withParties) {
+        this.id = venta.getId();
+        this.total = venta.getTotal();
+        this.fecha = venta.getFecha();
+        this.vehicleCount = venta.getVehicleCount();
+        this.computedTotal = venta.getComputedTotal();
+        this.cliente = withParties && venta.getCliente() != null ? new ClienteSnapshotDTO(venta.getCliente()) : null;
+        this.empleado = withParties && venta.getEmpleado() != null ? new EmpleadoSnapshotDTO(venta.getEmpleado()) : null;
+    }
+
+    /**
+     * The venta of a coche or a moto is serialized without its cliente and empleado, so they are left out of the copy.
+     *
+     * @param venta the venta to copy.
+     * @return a copy of the venta, without its cliente and empleado.
+     */
+    public static VentaSnapshotDTO withoutParties(Venta venta) {
+        return venta == null ? null : new VentaSnapshotDTO(venta, false);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Instant getFecha() {
+        return fecha;
+    }
+
+    public Integer getVehicleCount() {
+        return vehicleCount;
+    }
+
+    public Double getComputedTotal() {
+        return computedTotal;
+    }
+
+    public ClienteSnapshotDTO getCliente() {
+        return cliente;
+    }
+
+    public EmpleadoSnapshotDTO getEmpleado() {
+        return empleado;
+    }
+
+    /**
+     * @return a new detached venta, without its coches and motos.
+     */
+    public Venta toEntity() {
+        return new Venta()
+            .id(id)
+            .total(total)
+            .fecha(fecha)
+            .vehicleCount(vehicleCount)
+            .computedTotal(computedTotal)
+            .coches(null)
+            .motos(null)
+            .cliente(cliente != null ? cliente.toEntity() : null)
+            .empleado(empleado != null ? empleado.toEntity() : null);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaSnapshotDTO{" +
+            "id=" + id +
+            ", total=" + total +
+            ", fecha='" + fecha + "'" +
+            ", vehicleCount=" + vehicleCount +
+            ", computedTotal=" + computedTotal +
+            ", cliente=" + cliente +
+            ", empleado=" + empleado +
+            "}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of ventas, their revenue and their average total, with the number of vehicles they sold and the sum of their precio,
+ * in one group of {@code GET /api/ventas/stats}.
+ * <p>
+ * The group is either a {@code period} ({@code 2021-10-17} by day, {@code 2021-10} by month), an {@code empleadoId} or a
+ * {@code clienteId}; the other two are null.
+ */
+public final class VentaStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String period;
+
+    private final Long empleadoId;
+
+    private final Long clienteId;
+
+    private final long count;
+
+    private final double revenue;
+
+    private final long vehicles;
+
+    private final double computedRevenue;
+
+    public VentaStatsDTO(
+        String period,
+        Long empleadoId,
+        Long clienteId,
+        long count,
+        double revenue,
+        long vehicles,
+        double computedRevenue
+    ) {
+        this.period = period;
+        this.empleadoId = empleadoId;
+        this.clienteId = clienteId;
+        this.count = count;
+        this.revenue = revenue;
+        this.vehicles = vehicles;
+        this.computedRevenue = computedRevenue;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0 : revenue / count;
+    }
+
+    public long getVehicles() {
+        return vehicles;
+    }
+
+    public double getComputedRevenue() {
+        return computedRevenue;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaStatsDTO{" +
+            "period='" + period + "'" +
+            ", empleadoId=" + empleadoId +
+            ", clienteId=" + clienteId +
+            ", count=" + count +
+            ", revenue=" + revenue +
+            ", vehicles=" + vehicles +
+            ", computedRevenue=" + computedRevenue +
+            "}";
+    }
+}
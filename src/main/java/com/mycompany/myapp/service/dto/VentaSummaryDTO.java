@@ -0,0 +1,113 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A read-only summary of a {@link com.mycompany.myapp.domain.Venta}, for the list endpoints.
+ * <p>
+ * It is built by a constructor expression from the columns it shows, with the names of the cliente and empleado and the number
+ * of vehicles of the venta, so listing it neither loads nor manages any entity.
+ */
+public final class VentaSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final Double total;
+
+    private final Instant fecha;
+
+    private final Integer vehicleCount;
+
+    private final Double computedTotal;
+
+    private final Long clienteId;
+
+    private final String clienteNombre;
+
+    private final Long empleadoId;
+
+    private final String empleadoNombre;
+
+    public VentaSummaryDTO(
+        Long id,
+        Double total,
+        Instant fecha,
+        Integer vehicleCount,
+        Double computedTotal,
+        Long clienteId,
+        String clienteNombre,
+        String clienteApellidos,
+        Long empleadoId,
+        String empleadoNombre,
+        String empleadoApellidos
+    ) {
+        this.id = id;
+        this.total = total;
+        this.fecha = fecha;
+        this.vehicleCount = vehicleCount;
+        this.computedTotal = computedTotal;
+        this.clienteId = clienteId;
+        this.clienteNombre = fullName(clienteNombre, clienteApellidos);
+        this.empleadoId = empleadoId;
+        this.empleadoNombre = fullName(empleadoNombre, empleadoApellidos);
+    }
+
+    private static String fullName(String nombre, String apellidos) {
+        return nombre == null ? null : nombre + " " + apellidos;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Instant getFecha() {
+        return fecha;
+    }
+
+    public Integer getVehicleCount() {
+        return vehicleCount;
+    }
+
+    public Double getComputedTotal() {
+        return computedTotal;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public String getClienteNombre() {
+        return clienteNombre;
+    }
+
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+
+    public String getEmpleadoNombre() {
+        return empleadoNombre;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaSummaryDTO{" +
+            "id=" + id +
+            ", total=" + total +
+            ", fecha='" + fecha + "'" +
+            ", vehicleCount=" + vehicleCount +
+            ", computedTotal=" + computedTotal +
+            ", clienteId=" + clienteId +
+            ", clienteNombre='" + clienteNombre + "'" +
+            ", empleadoId=" + empleadoId +
+            ", empleadoNombre='" + empleadoNombre + "'" +
+            "}";
+    }
+}
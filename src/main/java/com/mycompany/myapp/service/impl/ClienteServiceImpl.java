@@ -2,12 +2,26 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Cliente;
 import com.mycompany.myapp.repository.ClienteRepository;
+import com.mycompany.myapp.service.ClienteQueryService;
 import com.mycompany.myapp.service.ClienteService;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.criteria.ClienteCriteria;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.ClienteSnapshotDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,20 +36,32 @@ public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository clienteRepository;
 
-    public ClienteServiceImpl(ClienteRepository clienteRepository) {
+    private final ClienteQueryService clienteQueryService;
+
+    private final EntitySnapshotCache snapshotCache;
+
+    public ClienteServiceImpl(
+        ClienteRepository clienteRepository,
+        ClienteQueryService clienteQueryService,
+        EntitySnapshotCache snapshotCache
+    ) {
         this.clienteRepository = clienteRepository;
+        this.clienteQueryService = clienteQueryService;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
     public Cliente save(Cliente cliente) {
         log.debug("Request to save Cliente : {}", cliente);
+        if (cliente.getId() != null) {
+            evictSnapshots(cliente.getId());
+        }
         return clienteRepository.save(cliente);
     }
 
     @Override
     public Optional<Cliente> partialUpdate(Cliente cliente) {
         log.debug("Request to partially update Cliente : {}", cliente);
-
         return clienteRepository
             .findById(cliente.getId())
             .map(
@@ -53,7 +79,13 @@ public class ClienteServiceImpl implements ClienteService {
                     return existingCliente;
                 }
             )
-            .map(clienteRepository::save);
+            .map(clienteRepository::save)
+            .map(
+                result -> {
+                    evictSnapshots(result.getId());
+                    return result;
+                }
+            );
     }
 
     @Override
@@ -67,25 +99,75 @@ public class ClienteServiceImpl implements ClienteService {
     @Transactional(readOnly = true)
     public Optional<Cliente> findOne(Long id) {
         log.debug("Request to get Cliente : {}", id);
-        return clienteRepository.findById(id);
+        //Solo consulta la base de datos si la instantanea no esta en la cache
+        return snapshotCache
+            .get(CLIENTES_BY_ID_CACHE, id, () -> clienteRepository.findById(id).map(ClienteSnapshotDTO::new))
+            .map(ClienteSnapshotDTO::toEntity);
     }
 
     //Metodo Creado
     //Sirve para aplicar los filtros y obtener los resultados de la base de datos
     @Override
     @Transactional(readOnly = true)
-    public Page<Cliente> getClientsByFilter(Long id, String nombre, String apellidos, String dni, Pageable pageable) {
-        if (id == 0) return clienteRepository.getClientsByFilter(
-            nombre,
-            apellidos,
-            dni,
-            pageable
-        ); else return clienteRepository.getClientsByFilter(id, nombre, apellidos, dni, pageable);
+    public Slice<Cliente> getClientsByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        CountMode countMode,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Cliente by filter : {}", id, nombre, apellidos, dni, idMatch);
+        ClienteCriteria criteria = createCriteria(id, nombre, apellidos, dni, idMatch);
+        return clienteQueryService.findByCriteria(criteria, pageable, countMode);
+    }
+
+    //Metodo Creado
+    //Sirve para exportar los resultados filtrados fila a fila, sin cargarlos en memoria
+    @Override
+    @Transactional(readOnly = true)
+    public void exportClientsByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug("Request to export Cliente by filter : {}", format);
+        ClienteCriteria criteria = createCriteria(id, nombre, apellidos, dni, idMatch);
+        clienteQueryService.exportByCriteria(criteria, sort, format, out);
+    }
+
+    //Solo los filtros informados generan un predicado en la consulta
+    private static ClienteCriteria createCriteria(List<Long> id, String nombre, String apellidos, String dni, IdMatch idMatch) {
+        ClienteCriteria criteria = new ClienteCriteria();
+        criteria.setId(IdFilter.of(id, idMatch));
+        if (nombre != null && !nombre.isEmpty()) {
+            criteria.nombre().setContains(nombre);
+        }
+        if (apellidos != null && !apellidos.isEmpty()) {
+            criteria.apellidos().setContains(apellidos);
+        }
+        if (dni != null && !dni.isEmpty()) {
+            criteria.dni().setContains(dni);
+        }
+        return criteria;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Cliente : {}", id);
         clienteRepository.deleteById(id);
+        snapshotCache.evict(CLIENTES_BY_ID_CACHE, id);
+    }
+
+    //Las instantaneas de las ventas incluyen el cliente, y cambiarlo es raro, asi que se vacia la cache de ventas entera
+    private void evictSnapshots(Long id) {
+        snapshotCache.evict(CLIENTES_BY_ID_CACHE, id);
+        snapshotCache.clear(VentaService.VENTAS_BY_ID_CACHE);
     }
 }
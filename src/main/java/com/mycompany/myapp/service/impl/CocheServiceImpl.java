@@ -2,13 +2,35 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Coche;
 import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.service.CocheQueryService;
 import com.mycompany.myapp.service.CocheService;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.KeysetSlice;
+import com.mycompany.myapp.service.VehicleInventorySnapshot;
+import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.criteria.CocheCriteria;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.CocheSnapshotDTO;
+import com.mycompany.myapp.service.dto.CocheSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,20 +45,46 @@ public class CocheServiceImpl implements CocheService {
 
     private final CocheRepository cocheRepository;
 
-    public CocheServiceImpl(CocheRepository cocheRepository) {
+    private final CocheQueryService cocheQueryService;
+
+    private final EntitySnapshotCache snapshotCache;
+
+    private final VehicleInventorySnapshot inventorySnapshot;
+
+    private final VentaService ventaService;
+
+    public CocheServiceImpl(
+        CocheRepository cocheRepository,
+        CocheQueryService cocheQueryService,
+        EntitySnapshotCache snapshotCache,
+        VehicleInventorySnapshot inventorySnapshot,
+        VentaService ventaService
+    ) {
         this.cocheRepository = cocheRepository;
+        this.cocheQueryService = cocheQueryService;
+        this.snapshotCache = snapshotCache;
+        this.inventorySnapshot = inventorySnapshot;
+        this.ventaService = ventaService;
     }
 
     @Override
     public Coche save(Coche coche) {
         log.debug("Request to save Coche : {}", coche);
-        return cocheRepository.save(coche);
+        Long previousVentaId = coche.getId() == null ? null : cocheRepository.getVentaIdByCocheId(coche.getId());
+        Coche result = cocheRepository.save(coche);
+        snapshotCache.evict(COCHES_BY_ID_CACHE, result.getId());
+        //La venta de la que sale y la venta a la que entra recalculan su numero de vehiculos y su total calculado
+        ventaService.refreshVehicleTotals(previousVentaId);
+        Long ventaId = result.getVenta() == null ? null : result.getVenta().getId();
+        if (!Objects.equals(ventaId, previousVentaId)) {
+            ventaService.refreshVehicleTotals(ventaId);
+        }
+        return result;
     }
 
     @Override
     public Optional<Coche> partialUpdate(Coche coche) {
         log.debug("Request to partially update Coche : {}", coche);
-
         return cocheRepository
             .findById(coche.getId())
             .map(
@@ -60,7 +108,16 @@ public class CocheServiceImpl implements CocheService {
                     return existingCoche;
                 }
             )
-            .map(cocheRepository::save);
+            .map(cocheRepository::save)
+            .map(
+                result -> {
+                    snapshotCache.evict(COCHES_BY_ID_CACHE, result.getId());
+                    if (coche.getPrecio() != null && result.getVenta() != null) {
+                        ventaService.refreshVehicleTotals(result.getVenta().getId());
+                    }
+                    return result;
+                }
+            );
     }
 
     @Override
@@ -70,19 +127,29 @@ public class CocheServiceImpl implements CocheService {
         return cocheRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CocheSummaryDTO> findAllSummaries(Pageable pageable) {
+        log.debug("Request to get all Coche summaries");
+        return cocheQueryService.findSummariesByCriteria(null, pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Coche> findOne(Long id) {
         log.debug("Request to get Coche : {}", id);
-        return cocheRepository.findById(id);
+        //Solo consulta la base de datos si la instantanea no esta en la cache
+        return snapshotCache
+            .get(COCHES_BY_ID_CACHE, id, () -> cocheRepository.findById(id).map(CocheSnapshotDTO::new))
+            .map(CocheSnapshotDTO::toEntity);
     }
 
     //Metodo Creado
     //Sirve para aplicar los filtros y obtener los resultados de la base de datos
     @Override
     @Transactional(readOnly = true)
-    public Page<Coche> getCarsByFilter(
-        Long id,
+    public Slice<Coche> getCarsByFilter(
+        List<Long> id,
         String color,
         String modelo,
         String marca,
@@ -90,145 +157,146 @@ public class CocheServiceImpl implements CocheService {
         Instant fechaF,
         Double precioI,
         Double precioF,
-        Long venta,
+        List<Long> venta,
+        IdMatch idMatch,
+        CountMode countMode,
         Pageable pageable
     ) {
-        log.debug("Request to get Coche by filter : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta);
-        if (id == 0) {
-            if (precioI == 0) {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilter(color, modelo, marca, fechaI, fechaF, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndVenta(color, modelo, marca, fechaI, fechaF, venta, pageable);
-                    }
-                } else {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndPrecioF(color, modelo, marca, fechaI, fechaF, precioF, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndPrecioFAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            } else {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndPrecioI(color, modelo, marca, fechaI, fechaF, precioI, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndPrecioIAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            venta,
-                            pageable
-                        );
-                    }
-                } else {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndPrecios(color, modelo, marca, fechaI, fechaF, precioI, precioF, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndPreciosAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            }
-        } else {
-            if (precioI == 0) {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndId(id, color, modelo, marca, fechaI, fechaF, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndIdAndVenta(id, color, modelo, marca, fechaI, fechaF, venta, pageable);
-                    }
-                } else {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndIdAndPrecioF(id, color, modelo, marca, fechaI, fechaF, precioF, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndIdAndPrecioFAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            } else {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndIdAndPrecioI(id, color, modelo, marca, fechaI, fechaF, precioI, pageable);
-                    } else {
-                        return cocheRepository.getCarsByFilterAndIdAndPrecioIAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            venta,
-                            pageable
-                        );
-                    }
-                } else {
-                    if (venta == 0) {
-                        return cocheRepository.getCarsByFilterAndIdAndPrecios(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            pageable
-                        );
-                    } else {
-                        return cocheRepository.getCarsByFilterAndIdAndPreciosAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            }
+        log.debug("Request to get Coche by filter : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        CocheCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        //Con la copia en memoria activa, la base de datos solo se consulta para leer las entidades de la pagina
+        Optional<Page<Long>> ids = inventorySnapshot.findCoches(criteria, pageable);
+        if (ids.isPresent()) {
+            return findAllById(ids.get());
+        }
+        return cocheQueryService.findByCriteria(criteria, pageable, countMode);
+    }
+
+    //Lee las entidades de la pagina en una sola consulta y las devuelve en el orden de los ids
+    private Page<Coche> findAllById(Page<Long> ids) {
+        Map<Long, Coche> byId = cocheRepository
+            .findAllById(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(Coche::getId, Function.identity()));
+        List<Coche> coches = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return new PageImpl<>(coches, ids.getPageable(), ids.getTotalElements());
+    }
+
+    //Metodo Creado
+    //Sirve para paginar los resultados filtrados por cursor, sin la consulta COUNT
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<Coche> getCarsByFilterAfter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        String cursor,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Coche by filter after cursor : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        CocheCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        return cocheQueryService.findByCriteriaAfter(criteria, cursor, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para listar solo el resumen de los resultados filtrados, sin cargar las entidades
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CocheSummaryDTO> getCarSummariesByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Coche summaries : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        CocheCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        return cocheQueryService.findSummariesByCriteria(criteria, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para exportar los resultados filtrados fila a fila, sin cargarlos en memoria
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCarsByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug("Request to export Coche by filter : {}", format);
+        CocheCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        cocheQueryService.exportByCriteria(criteria, sort, format, out);
+    }
+
+    //Solo los filtros informados generan un predicado en la consulta
+    private static CocheCriteria createCriteria(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch
+    ) {
+        CocheCriteria criteria = new CocheCriteria();
+        criteria.setId(IdFilter.of(id, idMatch));
+        if (color != null && !color.isEmpty()) {
+            criteria.color().setContains(color);
+        }
+        if (modelo != null && !modelo.isEmpty()) {
+            criteria.modelo().setContains(modelo);
+        }
+        if (marca != null && !marca.isEmpty()) {
+            criteria.marca().setContains(marca);
+        }
+        if (fechaI != null) {
+            criteria.anio().setGreaterThanOrEqual(fechaI);
+        }
+        if (fechaF != null) {
+            criteria.anio().setLessThanOrEqual(fechaF);
+        }
+        if (precioI != 0) {
+            criteria.precio().setGreaterThanOrEqual(precioI);
+        }
+        if (precioF != 0) {
+            criteria.precio().setLessThanOrEqual(precioF);
         }
+        criteria.setVentaId(IdFilter.of(venta, idMatch));
+        return criteria;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Coche : {}", id);
+        Long ventaId = cocheRepository.getVentaIdByCocheId(id);
         cocheRepository.deleteById(id);
+        snapshotCache.evict(COCHES_BY_ID_CACHE, id);
+        ventaService.refreshVehicleTotals(ventaId);
     }
 }
@@ -2,12 +2,26 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Empleado;
 import com.mycompany.myapp.repository.EmpleadoRepository;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.EmpleadoQueryService;
 import com.mycompany.myapp.service.EmpleadoService;
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.criteria.EmpleadoCriteria;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.EmpleadoSnapshotDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,20 +36,32 @@ public class EmpleadoServiceImpl implements EmpleadoService {
 
     private final EmpleadoRepository empleadoRepository;
 
-    public EmpleadoServiceImpl(EmpleadoRepository empleadoRepository) {
+    private final EmpleadoQueryService empleadoQueryService;
+
+    private final EntitySnapshotCache snapshotCache;
+
+    public EmpleadoServiceImpl(
+        EmpleadoRepository empleadoRepository,
+        EmpleadoQueryService empleadoQueryService,
+        EntitySnapshotCache snapshotCache
+    ) {
         this.empleadoRepository = empleadoRepository;
+        this.empleadoQueryService = empleadoQueryService;
+        this.snapshotCache = snapshotCache;
     }
 
     @Override
     public Empleado save(Empleado empleado) {
         log.debug("Request to save Empleado : {}", empleado);
+        if (empleado.getId() != null) {
+            evictSnapshots(empleado.getId());
+        }
         return empleadoRepository.save(empleado);
     }
 
     @Override
     public Optional<Empleado> partialUpdate(Empleado empleado) {
         log.debug("Request to partially update Empleado : {}", empleado);
-
         return empleadoRepository
             .findById(empleado.getId())
             .map(
@@ -53,7 +79,13 @@ public class EmpleadoServiceImpl implements EmpleadoService {
                     return existingEmpleado;
                 }
             )
-            .map(empleadoRepository::save);
+            .map(empleadoRepository::save)
+            .map(
+                result -> {
+                    evictSnapshots(result.getId());
+                    return result;
+                }
+            );
     }
 
     @Override
@@ -67,25 +99,75 @@ public class EmpleadoServiceImpl implements EmpleadoService {
     @Transactional(readOnly = true)
     public Optional<Empleado> findOne(Long id) {
         log.debug("Request to get Empleado : {}", id);
-        return empleadoRepository.findById(id);
+        //Solo consulta la base de datos si la instantanea no esta en la cache
+        return snapshotCache
+            .get(EMPLEADOS_BY_ID_CACHE, id, () -> empleadoRepository.findById(id).map(EmpleadoSnapshotDTO::new))
+            .map(EmpleadoSnapshotDTO::toEntity);
     }
 
     //Metodo Creado
     //Sirve para aplicar los filtros y obtener los resultados de la base de datos
     @Override
     @Transactional(readOnly = true)
-    public Page<Empleado> getEmployeesByFilter(Long id, String nombre, String apellidos, String dni, Pageable pageable) {
-        if (id == 0) return empleadoRepository.getEmployeesByFilter(
-            nombre,
-            apellidos,
-            dni,
-            pageable
-        ); else return empleadoRepository.getEmployeesByFilter(id, nombre, apellidos, dni, pageable);
+    public Slice<Empleado> getEmployeesByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        CountMode countMode,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Empleado by filter : {}", id, nombre, apellidos, dni, idMatch);
+        EmpleadoCriteria criteria = createCriteria(id, nombre, apellidos, dni, idMatch);
+        return empleadoQueryService.findByCriteria(criteria, pageable, countMode);
+    }
+
+    //Metodo Creado
+    //Sirve para exportar los resultados filtrados fila a fila, sin cargarlos en memoria
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployeesByFilter(
+        List<Long> id,
+        String nombre,
+        String apellidos,
+        String dni,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug("Request to export Empleado by filter : {}", format);
+        EmpleadoCriteria criteria = createCriteria(id, nombre, apellidos, dni, idMatch);
+        empleadoQueryService.exportByCriteria(criteria, sort, format, out);
+    }
+
+    //Solo los filtros informados generan un predicado en la consulta
+    private static EmpleadoCriteria createCriteria(List<Long> id, String nombre, String apellidos, String dni, IdMatch idMatch) {
+        EmpleadoCriteria criteria = new EmpleadoCriteria();
+        criteria.setId(IdFilter.of(id, idMatch));
+        if (nombre != null && !nombre.isEmpty()) {
+            criteria.nombre().setContains(nombre);
+        }
+        if (apellidos != null && !apellidos.isEmpty()) {
+            criteria.apellidos().setContains(apellidos);
+        }
+        if (dni != null && !dni.isEmpty()) {
+            criteria.dni().setContains(dni);
+        }
+        return criteria;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Empleado : {}", id);
         empleadoRepository.deleteById(id);
+        snapshotCache.evict(EMPLEADOS_BY_ID_CACHE, id);
+    }
+
+    //Las instantaneas de las ventas incluyen el empleado, y cambiarlo es raro, asi que se vacia la cache de ventas entera
+    private void evictSnapshots(Long id) {
+        snapshotCache.evict(EMPLEADOS_BY_ID_CACHE, id);
+        snapshotCache.clear(VentaService.VENTAS_BY_ID_CACHE);
     }
 }
@@ -2,13 +2,35 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Moto;
 import com.mycompany.myapp.repository.MotoRepository;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.KeysetSlice;
+import com.mycompany.myapp.service.MotoQueryService;
 import com.mycompany.myapp.service.MotoService;
+import com.mycompany.myapp.service.VehicleInventorySnapshot;
+import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.MotoSnapshotDTO;
+import com.mycompany.myapp.service.dto.MotoSummaryDTO;
+import com.mycompany.myapp.service.criteria.MotoCriteria;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,20 +45,46 @@ public class MotoServiceImpl implements MotoService {
 
     private final MotoRepository motoRepository;
 
-    public MotoServiceImpl(MotoRepository motoRepository) {
+    private final MotoQueryService motoQueryService;
+
+    private final EntitySnapshotCache snapshotCache;
+
+    private final VehicleInventorySnapshot inventorySnapshot;
+
+    private final VentaService ventaService;
+
+    public MotoServiceImpl(
+        MotoRepository motoRepository,
+        MotoQueryService motoQueryService,
+        EntitySnapshotCache snapshotCache,
+        VehicleInventorySnapshot inventorySnapshot,
+        VentaService ventaService
+    ) {
         this.motoRepository = motoRepository;
+        this.motoQueryService = motoQueryService;
+        this.snapshotCache = snapshotCache;
+        this.inventorySnapshot = inventorySnapshot;
+        this.ventaService = ventaService;
     }
 
     @Override
     public Moto save(Moto moto) {
         log.debug("Request to save Moto : {}", moto);
-        return motoRepository.save(moto);
+        Long previousVentaId = moto.getId() == null ? null : motoRepository.getVentaIdByMotoId(moto.getId());
+        Moto result = motoRepository.save(moto);
+        snapshotCache.evict(MOTOS_BY_ID_CACHE, result.getId());
+        //La venta de la que sale y la venta a la que entra recalculan su numero de vehiculos y su total calculado
+        ventaService.refreshVehicleTotals(previousVentaId);
+        Long ventaId = result.getVenta() == null ? null : result.getVenta().getId();
+        if (!Objects.equals(ventaId, previousVentaId)) {
+            ventaService.refreshVehicleTotals(ventaId);
+        }
+        return result;
     }
 
     @Override
     public Optional<Moto> partialUpdate(Moto moto) {
         log.debug("Request to partially update Moto : {}", moto);
-
         return motoRepository
             .findById(moto.getId())
             .map(
@@ -60,7 +108,16 @@ public class MotoServiceImpl implements MotoService {
                     return existingMoto;
                 }
             )
-            .map(motoRepository::save);
+            .map(motoRepository::save)
+            .map(
+                result -> {
+                    snapshotCache.evict(MOTOS_BY_ID_CACHE, result.getId());
+                    if (moto.getPrecio() != null && result.getVenta() != null) {
+                        ventaService.refreshVehicleTotals(result.getVenta().getId());
+                    }
+                    return result;
+                }
+            );
     }
 
     @Override
@@ -70,19 +127,29 @@ public class MotoServiceImpl implements MotoService {
         return motoRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MotoSummaryDTO> findAllSummaries(Pageable pageable) {
+        log.debug("Request to get all Moto summaries");
+        return motoQueryService.findSummariesByCriteria(null, pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Moto> findOne(Long id) {
         log.debug("Request to get Moto : {}", id);
-        return motoRepository.findById(id);
+        //Solo consulta la base de datos si la instantanea no esta en la cache
+        return snapshotCache
+            .get(MOTOS_BY_ID_CACHE, id, () -> motoRepository.findById(id).map(MotoSnapshotDTO::new))
+            .map(MotoSnapshotDTO::toEntity);
     }
 
     //Metodo Creado
     //Sirve para aplicar los filtros y obtener los resultados de la base de datos
     @Override
     @Transactional(readOnly = true)
-    public Page<Moto> getMotosByFilter(
-        Long id,
+    public Slice<Moto> getMotosByFilter(
+        List<Long> id,
         String color,
         String modelo,
         String marca,
@@ -90,144 +157,146 @@ public class MotoServiceImpl implements MotoService {
         Instant fechaF,
         Double precioI,
         Double precioF,
-        Long venta,
+        List<Long> venta,
+        IdMatch idMatch,
+        CountMode countMode,
         Pageable pageable
     ) {
-        if (id == 0) {
-            if (precioI == 0) {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilter(color, modelo, marca, fechaI, fechaF, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndVenta(color, modelo, marca, fechaI, fechaF, venta, pageable);
-                    }
-                } else {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndPrecioF(color, modelo, marca, fechaI, fechaF, precioF, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndPrecioFAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            } else {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndPrecioI(color, modelo, marca, fechaI, fechaF, precioI, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndPrecioIAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            venta,
-                            pageable
-                        );
-                    }
-                } else {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndPrecios(color, modelo, marca, fechaI, fechaF, precioI, precioF, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndPreciosAndVenta(
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            }
-        } else {
-            if (precioI == 0) {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndId(id, color, modelo, marca, fechaI, fechaF, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndIdAndVenta(id, color, modelo, marca, fechaI, fechaF, venta, pageable);
-                    }
-                } else {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndIdAndPrecioF(id, color, modelo, marca, fechaI, fechaF, precioF, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndIdAndPrecioFAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            } else {
-                if (precioF == 0) {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndIdAndPrecioI(id, color, modelo, marca, fechaI, fechaF, precioI, pageable);
-                    } else {
-                        return motoRepository.getMotosByFilterAndIdAndPrecioIAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            venta,
-                            pageable
-                        );
-                    }
-                } else {
-                    if (venta == 0) {
-                        return motoRepository.getMotosByFilterAndIdAndPrecios(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            pageable
-                        );
-                    } else {
-                        return motoRepository.getMotosByFilterAndIdAndPreciosAndVenta(
-                            id,
-                            color,
-                            modelo,
-                            marca,
-                            fechaI,
-                            fechaF,
-                            precioI,
-                            precioF,
-                            venta,
-                            pageable
-                        );
-                    }
-                }
-            }
+        log.debug("Request to get Moto by filter : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        MotoCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        //Con la copia en memoria activa, la base de datos solo se consulta para leer las entidades de la pagina
+        Optional<Page<Long>> ids = inventorySnapshot.findMotos(criteria, pageable);
+        if (ids.isPresent()) {
+            return findAllById(ids.get());
+        }
+        return motoQueryService.findByCriteria(criteria, pageable, countMode);
+    }
+
+    //Lee las entidades de la pagina en una sola consulta y las devuelve en el orden de los ids
+    private Page<Moto> findAllById(Page<Long> ids) {
+        Map<Long, Moto> byId = motoRepository
+            .findAllById(ids.getContent())
+            .stream()
+            .collect(Collectors.toMap(Moto::getId, Function.identity()));
+        List<Moto> motos = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return new PageImpl<>(motos, ids.getPageable(), ids.getTotalElements());
+    }
+
+    //Metodo Creado
+    //Sirve para paginar los resultados filtrados por cursor, sin la consulta COUNT
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<Moto> getMotosByFilterAfter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        String cursor,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Moto by filter after cursor : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        MotoCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        return motoQueryService.findByCriteriaAfter(criteria, cursor, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para listar solo el resumen de los resultados filtrados, sin cargar las entidades
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MotoSummaryDTO> getMotoSummariesByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Moto summaries : {}", id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        MotoCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        return motoQueryService.findSummariesByCriteria(criteria, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para exportar los resultados filtrados fila a fila, sin cargarlos en memoria
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMotosByFilter(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug("Request to export Moto by filter : {}", format);
+        MotoCriteria criteria = createCriteria(id, color, modelo, marca, fechaI, fechaF, precioI, precioF, venta, idMatch);
+        motoQueryService.exportByCriteria(criteria, sort, format, out);
+    }
+
+    //Solo los filtros informados generan un predicado en la consulta
+    private static MotoCriteria createCriteria(
+        List<Long> id,
+        String color,
+        String modelo,
+        String marca,
+        Instant fechaI,
+        Instant fechaF,
+        Double precioI,
+        Double precioF,
+        List<Long> venta,
+        IdMatch idMatch
+    ) {
+        MotoCriteria criteria = new MotoCriteria();
+        criteria.setId(IdFilter.of(id, idMatch));
+        if (color != null && !color.isEmpty()) {
+            criteria.color().setContains(color);
+        }
+        if (modelo != null && !modelo.isEmpty()) {
+            criteria.modelo().setContains(modelo);
+        }
+        if (marca != null && !marca.isEmpty()) {
+            criteria.marca().setContains(marca);
+        }
+        if (fechaI != null) {
+            criteria.anio().setGreaterThanOrEqual(fechaI);
+        }
+        if (fechaF != null) {
+            criteria.anio().setLessThanOrEqual(fechaF);
+        }
+        if (precioI != 0) {
+            criteria.precio().setGreaterThanOrEqual(precioI);
+        }
+        if (precioF != 0) {
+            criteria.precio().setLessThanOrEqual(precioF);
         }
+        criteria.setVentaId(IdFilter.of(venta, idMatch));
+        return criteria;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Moto : {}", id);
+        Long ventaId = motoRepository.getVentaIdByMotoId(id);
         motoRepository.deleteById(id);
+        snapshotCache.evict(MOTOS_BY_ID_CACHE, id);
+        ventaService.refreshVehicleTotals(ventaId);
     }
 }
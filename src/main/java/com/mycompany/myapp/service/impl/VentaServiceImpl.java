@@ -6,17 +6,42 @@ import com.mycompany.myapp.domain.Venta;
 import com.mycompany.myapp.repository.CocheRepository;
 import com.mycompany.myapp.repository.MotoRepository;
 import com.mycompany.myapp.repository.VentaRepository;
+import com.mycompany.myapp.service.CocheService;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.KeysetSlice;
+import com.mycompany.myapp.service.MotoService;
+import com.mycompany.myapp.service.VehicleInventorySnapshot;
+import com.mycompany.myapp.service.VentaQueryService;
 import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.VentaStatsGroup;
+import com.mycompany.myapp.service.VentaStatsService;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.criteria.VentaCriteria;
+import com.mycompany.myapp.service.dto.VentaSnapshotDTO;
+import com.mycompany.myapp.service.dto.VentaStatsDTO;
+import com.mycompany.myapp.service.dto.VentaSummaryDTO;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,11 +57,27 @@ public class VentaServiceImpl implements VentaService {
     private final VentaRepository ventaRepository;
     private final CocheRepository cocheRepository;
     private final MotoRepository motoRepository;
+    private final VentaQueryService ventaQueryService;
+    private final EntitySnapshotCache snapshotCache;
+    private final VehicleInventorySnapshot inventorySnapshot;
+    private final VentaStatsService ventaStatsService;
 
-    public VentaServiceImpl(VentaRepository ventaRepository, CocheRepository cocheRepository, MotoRepository motoRepository) {
+    public VentaServiceImpl(
+        VentaRepository ventaRepository,
+        CocheRepository cocheRepository,
+        MotoRepository motoRepository,
+        VentaQueryService ventaQueryService,
+        EntitySnapshotCache snapshotCache,
+        VehicleInventorySnapshot inventorySnapshot,
+        VentaStatsService ventaStatsService
+    ) {
         this.ventaRepository = ventaRepository;
         this.cocheRepository = cocheRepository;
         this.motoRepository = motoRepository;
+        this.ventaQueryService = ventaQueryService;
+        this.snapshotCache = snapshotCache;
+        this.inventorySnapshot = inventorySnapshot;
+        this.ventaStatsService = ventaStatsService;
     }
 
     @Override
@@ -46,43 +87,134 @@ public class VentaServiceImpl implements VentaService {
         log.debug("Request to save Motos : {}", venta.getMotos());
 
         Venta venta2 = venta;
+        VentaStatsService.Contribution before = null;
         if (venta.getId() != null) {
-            cocheRepository.updateCocheDeleteVentaByVentaId(venta.getId());
-            motoRepository.updateMotoDeleteVentaByVentaId(venta.getId());
-            if (venta.getCoches() != null) {
-                venta.getCoches().forEach(i -> cocheRepository.updateCocheSaveVentaByVentaIdAndCocheId(venta.getId(), i.getId()));
-            }
-            if (venta.getMotos() != null) {
-                venta.getMotos().forEach(i -> motoRepository.updateMotoSaveVentaByVentaIdAndMotoId(venta.getId(), i.getId()));
-            }
+            before = contributionOf(venta.getId());
+            snapshotCache.evict(VENTAS_BY_ID_CACHE, venta.getId());
+            reassignCoches(venta.getId(), idsOf(venta.getCoches(), Coche::getId));
+            reassignMotos(venta.getId(), idsOf(venta.getMotos(), Moto::getId));
         } else {
             venta2 = ventaRepository.save(venta);
             if (venta2.getCoches() != null) venta.getCoches().forEach(i -> cocheRepository.save(i));
             if (venta2.getMotos() != null) venta.getMotos().forEach(i -> motoRepository.save(i));
+            snapshotCache.evictAll(CocheService.COCHES_BY_ID_CACHE, idsOf(venta.getCoches(), Coche::getId));
+            snapshotCache.evictAll(MotoService.MOTOS_BY_ID_CACHE, idsOf(venta.getMotos(), Moto::getId));
+        }
+        updateVehicleTotals(venta2);
+
+        Venta result = ventaRepository.save(venta2);
+        ventaStatsService.record(before, VentaStatsService.Contribution.of(result));
+        return result;
+    }
+
+    //Recalcula las columnas derivadas con los coches y motos que la venta tiene ya en la base de datos,
+    //en la misma transaccion que los reasigna
+    private void updateVehicleTotals(Venta venta) {
+        Long ventaId = venta.getId();
+        venta.setVehicleCount((int) (cocheRepository.countByVentaId(ventaId) + motoRepository.countByVentaId(ventaId)));
+        venta.setComputedTotal(cocheRepository.sumPrecioByVentaId(ventaId) + motoRepository.sumPrecioByVentaId(ventaId));
+    }
+
+    @Override
+    public void refreshVehicleTotals(Long ventaId) {
+        if (ventaId == null) {
+            return;
         }
+        log.debug("Request to refresh the vehicle totals of Venta : {}", ventaId);
+        ventaRepository
+            .findById(ventaId)
+            .ifPresent(
+                venta -> {
+                    VentaStatsService.Contribution before = VentaStatsService.Contribution.of(venta);
+                    updateVehicleTotals(venta);
+                    ventaStatsService.record(before, VentaStatsService.Contribution.of(venta));
+                    evictSnapshots(ventaId);
+                }
+            );
+    }
+
+    //Lo que la venta cuenta en las estadisticas antes de modificarla, null si no existe
+    private VentaStatsService.Contribution contributionOf(Long ventaId) {
+        return ventaRepository.findById(ventaId).map(VentaStatsService.Contribution::of).orElse(null);
+    }
+
+    //Reasigna los coches de la venta con una sola sentencia por sentido,
+    //tocando unicamente los coches que entran o salen de la venta
+    //Las instantaneas de todos ellos incluyen la venta, asi que se descartan
+    private void reassignCoches(Long ventaId, Set<Long> cocheIds) {
+        Set<Long> current = cocheRepository.getCocheIdsByVentaId(ventaId);
+        snapshotCache.evictAll(CocheService.COCHES_BY_ID_CACHE, current);
+        snapshotCache.evictAll(CocheService.COCHES_BY_ID_CACHE, cocheIds);
+        Set<Long> removed = difference(current, cocheIds);
+        Set<Long> added = difference(cocheIds, current);
+        if (!removed.isEmpty()) {
+            cocheRepository.updateCocheDeleteVentaByVentaIdAndIds(ventaId, removed);
+        }
+        if (!added.isEmpty()) {
+            cocheRepository.updateCocheSaveVentaByVentaIdAndIds(ventaId, added);
+        }
+        //Las sentencias masivas no generan eventos de hibernate, asi que se notifican a la copia en memoria
+        inventorySnapshot.reassignAfterCommit(Coche.class, removed, null);
+        inventorySnapshot.reassignAfterCommit(Coche.class, added, ventaId);
+    }
+
+    //Igual que reassignCoches para las motos
+    private void reassignMotos(Long ventaId, Set<Long> motoIds) {
+        Set<Long> current = motoRepository.getMotoIdsByVentaId(ventaId);
+        snapshotCache.evictAll(MotoService.MOTOS_BY_ID_CACHE, current);
+        snapshotCache.evictAll(MotoService.MOTOS_BY_ID_CACHE, motoIds);
+        Set<Long> removed = difference(current, motoIds);
+        Set<Long> added = difference(motoIds, current);
+        if (!removed.isEmpty()) {
+            motoRepository.updateMotoDeleteVentaByVentaIdAndIds(ventaId, removed);
+        }
+        if (!added.isEmpty()) {
+            motoRepository.updateMotoSaveVentaByVentaIdAndIds(ventaId, added);
+        }
+        //Las sentencias masivas no generan eventos de hibernate, asi que se notifican a la copia en memoria
+        inventorySnapshot.reassignAfterCommit(Moto.class, removed, null);
+        inventorySnapshot.reassignAfterCommit(Moto.class, added, ventaId);
+    }
+
+    private static <T> Set<Long> idsOf(Set<T> vehicles, Function<T, Long> idGetter) {
+        if (vehicles == null) {
+            return new HashSet<>();
+        }
+        return vehicles.stream().map(idGetter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
 
-        return ventaRepository.save(venta2);
+    private static Set<Long> difference(Set<Long> from, Set<Long> remove) {
+        Set<Long> result = new HashSet<>(from);
+        result.removeAll(remove);
+        return result;
     }
 
     @Override
     public Optional<Venta> partialUpdate(Venta venta) {
         log.debug("Request to partially update Venta : {}", venta);
-
         return ventaRepository
             .findById(venta.getId())
             .map(
                 existingVenta -> {
+                    VentaStatsService.Contribution before = VentaStatsService.Contribution.of(existingVenta);
                     if (venta.getTotal() != null) {
                         existingVenta.setTotal(venta.getTotal());
                     }
                     if (venta.getFecha() != null) {
                         existingVenta.setFecha(venta.getFecha());
                     }
+                    ventaStatsService.record(before, VentaStatsService.Contribution.of(existingVenta));
 
                     return existingVenta;
                 }
             )
-            .map(ventaRepository::save);
+            .map(ventaRepository::save)
+            .map(
+                result -> {
+                    evictSnapshots(result.getId());
+                    return result;
+                }
+            );
     }
 
     @Override
@@ -92,167 +224,157 @@ public class VentaServiceImpl implements VentaService {
         return ventaRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VentaSummaryDTO> findAllSummaries(VentaCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Venta summaries : {}", criteria);
+        return ventaQueryService.findSummariesByCriteria(criteria, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VentaStatsDTO> getSalesStats(VentaStatsGroup group, LocalDate from, LocalDate to, Pageable pageable) {
+        log.debug("Request to get the Venta stats by {} from {} to {}", group, from, to);
+        return ventaStatsService.findStats(group, from, to, pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Venta> findOne(Long id) {
         log.debug("Request to get Venta : {}", id);
-        return ventaRepository.findById(id);
+        //Solo consulta la base de datos si la instantanea no esta en la cache
+        return snapshotCache
+            .get(VENTAS_BY_ID_CACHE, id, () -> ventaRepository.findById(id).map(VentaSnapshotDTO::new))
+            .map(VentaSnapshotDTO::toEntity);
     }
 
     //Metodo Creado
     //Sirve para aplicar los filtros y obtener los resultados de la base de datos
     @Override
     @Transactional(readOnly = true)
-    public Page<Venta> getSelesByFilter(
-        Long id,
+    public Slice<Venta> getSelesByFilter(
+        List<Long> id,
         Double totalI,
         Double totalF,
         Instant fechaI,
         Instant fechaF,
-        Long idC,
-        Long idE,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        CountMode countMode,
         Pageable pageable
     ) {
-        log.debug("REST request to sales by filter: {}", id, totalI, totalF, fechaI, fechaF, idC, idE);
-        if (id == 0) {
-            if (totalI == 0) {
-                if (totalF == 0) {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilter(fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdE(fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdC(fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIds(fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                } else {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotalF(totalF, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalFAndIdE(totalF, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotalFAndIdC(totalF, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalFAndIds(totalF, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                }
-            } else {
-                if (totalF == 0) {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotalI(totalI, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalIAndIdE(totalI, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotalIAndIdC(totalI, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalIAndIds(totalI, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                } else {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotals(totalI, totalF, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalsAndIdE(totalI, totalF, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndTotalsAndIdC(totalI, totalF, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndTotalsAndIds(totalI, totalF, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                }
-            }
-        } else {
-            if (totalI == 0) {
-                if (totalF == 0) {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndId(id, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndIdE(id, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndIdC(id, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndIds(id, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                } else {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalF(id, totalF, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalFAndIdE(id, totalF, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalFAndIdC(id, totalF, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalFAndIds(id, totalF, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                }
-            } else {
-                if (totalF == 0) {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalI(id, totalI, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalIAndIdE(id, totalI, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalIAndIdC(id, totalI, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalIAndIds(id, totalI, fechaI, fechaF, idC, idE, pageable);
-                        }
-                    }
-                } else {
-                    if (idC == 0) {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotals(id, totalI, totalF, fechaI, fechaF, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalsAndIdE(id, totalI, totalF, fechaI, fechaF, idE, pageable);
-                        }
-                    } else {
-                        if (idE == 0) {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalsAndIdC(id, totalI, totalF, fechaI, fechaF, idC, pageable);
-                        } else {
-                            return ventaRepository.getSalesByFilterAndIdAndTotalsAndIds(
-                                id,
-                                totalI,
-                                totalF,
-                                fechaI,
-                                fechaF,
-                                idC,
-                                idE,
-                                pageable
-                            );
-                        }
-                    }
-                }
-            }
+        log.debug("REST request to sales by filter: {}", id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        VentaCriteria criteria = createCriteria(id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        return ventaQueryService.findByCriteria(criteria, pageable, countMode);
+    }
+
+    //Metodo Creado
+    //Sirve para paginar los resultados filtrados por cursor, sin la consulta COUNT
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<Venta> getSalesByFilterAfter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        String cursor,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Venta by filter after cursor : {}", id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        VentaCriteria criteria = createCriteria(id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        return ventaQueryService.findByCriteriaAfter(criteria, cursor, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para listar solo el resumen de los resultados filtrados, sin cargar las entidades
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VentaSummaryDTO> getSaleSummariesByFilter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        Pageable pageable
+    ) {
+        log.debug("Request to get Venta summaries : {}", id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        VentaCriteria criteria = createCriteria(id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        return ventaQueryService.findSummariesByCriteria(criteria, pageable);
+    }
+
+    //Metodo Creado
+    //Sirve para exportar los resultados filtrados fila a fila, sin cargarlos en memoria
+    @Override
+    @Transactional(readOnly = true)
+    public void exportSalesByFilter(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch,
+        Sort sort,
+        ExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug("Request to export Venta by filter : {}", format);
+        VentaCriteria criteria = createCriteria(id, totalI, totalF, fechaI, fechaF, idC, idE, idMatch);
+        ventaQueryService.exportByCriteria(criteria, sort, format, out);
+    }
+
+    //Solo los filtros informados generan un predicado en la consulta
+    private static VentaCriteria createCriteria(
+        List<Long> id,
+        Double totalI,
+        Double totalF,
+        Instant fechaI,
+        Instant fechaF,
+        List<Long> idC,
+        List<Long> idE,
+        IdMatch idMatch
+    ) {
+        VentaCriteria criteria = new VentaCriteria();
+        criteria.setId(IdFilter.of(id, idMatch));
+        if (totalI != 0) {
+            criteria.total().setGreaterThanOrEqual(totalI);
         }
+        if (totalF != 0) {
+            criteria.total().setLessThanOrEqual(totalF);
+        }
+        if (fechaI != null) {
+            criteria.fecha().setGreaterThanOrEqual(fechaI);
+        }
+        if (fechaF != null) {
+            criteria.fecha().setLessThanOrEqual(fechaF);
+        }
+        criteria.setClienteId(IdFilter.of(idC, idMatch));
+        criteria.setEmpleadoId(IdFilter.of(idE, idMatch));
+        return criteria;
     }
 
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Venta : {}", id);
+        evictSnapshots(id);
+        VentaStatsService.Contribution before = contributionOf(id);
         ventaRepository.deleteById(id);
+        ventaStatsService.record(before, null);
+    }
+
+    //Descarta la venta y los coches y motos que la incluyen en su instantanea
+    private void evictSnapshots(Long ventaId) {
+        snapshotCache.evict(VENTAS_BY_ID_CACHE, ventaId);
+        snapshotCache.evictAll(CocheService.COCHES_BY_ID_CACHE, cocheRepository.getCocheIdsByVentaId(ventaId));
+        snapshotCache.evictAll(MotoService.MOTOS_BY_ID_CACHE, motoRepository.getMotoIdsByVentaId(ventaId));
     }
 }
@@ -3,13 +3,25 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Coche;
 import com.mycompany.myapp.repository.CocheRepository;
 import com.mycompany.myapp.service.CocheService;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.KeysetSlice;
+import com.mycompany.myapp.service.VehicleImportService;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.dto.BulkImportReportDTO;
+import com.mycompany.myapp.service.dto.CocheSummaryDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -17,8 +29,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
@@ -46,9 +61,12 @@ public class CocheResource {
 
     private final CocheRepository cocheRepository;
 
-    public CocheResource(CocheService cocheService, CocheRepository cocheRepository) {
+    private final VehicleImportService vehicleImportService;
+
+    public CocheResource(CocheService cocheService, CocheRepository cocheRepository, VehicleImportService vehicleImportService) {
         this.cocheService = cocheService;
         this.cocheRepository = cocheRepository;
+        this.vehicleImportService = vehicleImportService;
     }
 
     /**
@@ -71,6 +89,22 @@ public class CocheResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /coches/bulk} : Create many coches at once.
+     *
+     * @param contentType {@code application/json} for an array of coches, {@code text/csv} for a CSV file with header.
+     * @param body the request body, read as a stream.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report, listing the rejected rows.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(value = "/coches/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, VehicleImportService.TEXT_CSV_VALUE })
+    public ResponseEntity<BulkImportReportDTO> importCoches(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+        throws IOException {
+        log.debug("REST request to bulk import Coches : {}", contentType);
+        BulkImportReportDTO report = vehicleImportService.importCoches(body, VehicleImportService.Format.fromContentType(contentType));
+        return ResponseEntity.ok().body(report);
+    }
+
     /**
      * {@code PUT  /coches/:id} : Updates an existing coche.
      *
@@ -153,6 +187,20 @@ public class CocheResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /coches/summaries} : get the summaries of all the coches, a lighter alternative to {@code GET  /coches}.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping("/coches/summaries")
+    public ResponseEntity<List<CocheSummaryDTO>> getAllCocheSummaries(Pageable pageable) {
+        log.debug("REST request to get a page of Coche summaries");
+        Page<CocheSummaryDTO> page = cocheService.findAllSummaries(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /coches/:id} : get the "id" coche.
      *
@@ -175,6 +223,11 @@ public class CocheResource {
      * @param anio the anio(Range) of the coches to retrive.
      * @param precio the precio(Range) of the coches to retrieve.
      * @param venta the venta of the coches to retrieve.
+     * @param idMatch {@code EXACT} (default) to match id and venta by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param count {@code EXACT} (default) to count the matches, {@code NONE} to skip the count and only tell whether there is a
+     * next page, {@code ESTIMATE} to reuse a recent count, flagged with {@code X-Total-Count-Approximate}.
+     * @param cursor when present (empty for the first slice), switches to keyset pagination: the slice after the cursor is
+     * returned with the cursor of the next one in the {@code X-Next-Cursor} header, and no total count.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new coche, or with status {@code 400 (Bad Request)} if the coche has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -186,7 +239,7 @@ public class CocheResource {
         @RequestParam MultiValueMap<String, String> queryParams,
         UriComponentsBuilder uriBuilder,
         Pageable pageable,
-        @RequestParam(value = "id", defaultValue = "0") String id,
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
         @RequestParam(value = "color", defaultValue = "") String color,
         @RequestParam(value = "modelo", defaultValue = "") String modelo,
         @RequestParam(value = "marca", defaultValue = "") String marca,
@@ -194,11 +247,32 @@ public class CocheResource {
         @RequestParam(value = "fechaF") String fechaF,
         @RequestParam(value = "precioI", defaultValue = "0") String precioI,
         @RequestParam(value = "precioF", defaultValue = "0") String precioF,
-        @RequestParam(value = "venta", defaultValue = "0") String venta
+        @RequestParam(value = "venta", defaultValue = "0") List<Long> venta,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "count", defaultValue = "EXACT") CountMode count,
+        @RequestParam(value = "cursor", required = false) String cursor
     ) {
         log.debug("REST request to cars by filter: {}", id, color, modelo, marca, precioI, precioF, venta);
-        final Page<Coche> page = cocheService.getCarsByFilter(
-            Long.parseLong(id),
+        if (cursor != null) {
+            final KeysetSlice<Coche> slice = cocheService.getCarsByFilterAfter(
+                id,
+                color,
+                modelo,
+                marca,
+                Instant.parse(fechaI),
+                Instant.parse(fechaF),
+                Double.parseDouble(precioI),
+                Double.parseDouble(precioF),
+                venta,
+                idMatch,
+                cursor,
+                pageable
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(uriBuilder.queryParams(queryParams), slice);
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
+        final Slice<Coche> page = cocheService.getCarsByFilter(
+            id,
             color,
             modelo,
             marca,
@@ -206,13 +280,111 @@ public class CocheResource {
             Instant.parse(fechaF),
             Double.parseDouble(precioI),
             Double.parseDouble(precioF),
-            Long.parseLong(venta),
+            venta,
+            idMatch,
+            count,
             pageable
         );
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET  /coches/get-cars-by-filter/summaries} : get the summaries of the coches matching the filter, a lighter alternative to
+     * {@code GET  /coches/get-cars-by-filter} which neither loads nor serializes the entities.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping(
+        value = "/coches/get-cars-by-filter/summaries",
+        params = { "id", "color", "modelo", "marca", "fechaI", "fechaF", "precioI", "precioF", "venta" }
+    )
+    public ResponseEntity<List<CocheSummaryDTO>> getCarSummariesByFilter(
+        Pageable pageable,
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
+        @RequestParam(value = "color", defaultValue = "") String color,
+        @RequestParam(value = "modelo", defaultValue = "") String modelo,
+        @RequestParam(value = "marca", defaultValue = "") String marca,
+        @RequestParam(value = "fechaI") String fechaI,
+        @RequestParam(value = "fechaF") String fechaF,
+        @RequestParam(value = "precioI", defaultValue = "0") String precioI,
+        @RequestParam(value = "precioF", defaultValue = "0") String precioF,
+        @RequestParam(value = "venta", defaultValue = "0") List<Long> venta,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch
+    ) {
+        log.debug("REST request to get Coche summaries by filter");
+        Page<CocheSummaryDTO> page = cocheService.getCarSummariesByFilter(
+            id,
+            color,
+            modelo,
+            marca,
+            Instant.parse(fechaI),
+            Instant.parse(fechaF),
+            Double.parseDouble(precioI),
+            Double.parseDouble(precioF),
+            venta,
+            idMatch,
+            pageable
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /coches/get-cars-by-filter/export} : export the coches matching the filter, as CSV or NDJSON, without paging.
+     * @param id the id of the coches to retrieve.
+     * @param color the color of the coches to retrieve.
+     * @param modelo the modelo of the coches to retrieve.
+     * @param marca the marca of the coches to retrieve.
+     * @param anio the anio(Range) of the coches to retrive.
+     * @param precio the precio(Range) of the coches to retrieve.
+     * @param venta the venta of the coches to retrieve.
+     * @param idMatch {@code EXACT} (default) to match id and venta by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param format {@code CSV} (default) or {@code NDJSON}.
+     * @param sort the order of the rows.
+     * @param response the response the rows are streamed to.
+     * @throws IOException if the rows can't be written.
+     */
+    @GetMapping(
+        value = "/coches/get-cars-by-filter/export",
+        params = { "id", "color", "modelo", "marca", "fechaI", "fechaF", "precioI", "precioF", "venta" }
+    )
+    public void exportCarsByFilter(
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
+        @RequestParam(value = "color", defaultValue = "") String color,
+        @RequestParam(value = "modelo", defaultValue = "") String modelo,
+        @RequestParam(value = "marca", defaultValue = "") String marca,
+        @RequestParam(value = "fechaI") String fechaI,
+        @RequestParam(value = "fechaF") String fechaF,
+        @RequestParam(value = "precioI", defaultValue = "0") String precioI,
+        @RequestParam(value = "precioF", defaultValue = "0") String precioF,
+        @RequestParam(value = "venta", defaultValue = "0") List<Long> venta,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+        Sort sort,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export coches by filter: {}", format);
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"coches." + format.getExtension() + "\"");
+        cocheService.exportCarsByFilter(
+            id,
+            color,
+            modelo,
+            marca,
+            Instant.parse(fechaI),
+            Instant.parse(fechaF),
+            Double.parseDouble(precioI),
+            Double.parseDouble(precioF),
+            venta,
+            idMatch,
+            sort,
+            format,
+            response.getOutputStream()
+        );
+    }
+
     /**
      * {@code DELETE  /coches/:id} : delete the "id" coche.
      *
@@ -2,13 +2,19 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Empleado;
 import com.mycompany.myapp.repository.EmpleadoRepository;
+import com.mycompany.myapp.service.CountMode;
 import com.mycompany.myapp.service.EmpleadoService;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.criteria.IdMatch;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -16,6 +22,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -173,6 +181,9 @@ public class EmpleadoResource {
      * @param nombre the nombre of the empleado to retrieve.
      * @param apellidos the apellidos of the empleado to retrieve.
      * @param dni the dni of the empleado to retrieve.
+     * @param idMatch {@code EXACT} (default) to match the id by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param count {@code EXACT} (default) to count the matches, {@code NONE} to skip the count and only tell whether there is a
+     * next page, {@code ESTIMATE} to reuse a recent count, flagged with {@code X-Total-Count-Approximate}.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new empleado, or with status {@code 400 (Bad Request)} if the empleado has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -181,17 +192,48 @@ public class EmpleadoResource {
         @RequestParam MultiValueMap<String, String> queryParams,
         UriComponentsBuilder uriBuilder,
         Pageable pageable,
-        @RequestParam(value = "id", defaultValue = "0") String id,
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
         @RequestParam(value = "nombre", defaultValue = "") String nombre,
         @RequestParam(value = "apellidos", defaultValue = "") String apellidos,
-        @RequestParam(value = "dni", defaultValue = "") String dni
+        @RequestParam(value = "dni", defaultValue = "") String dni,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "count", defaultValue = "EXACT") CountMode count
     ) {
         log.debug("REST request to employees by filter: {}", id, nombre, apellidos, dni);
-        final Page<Empleado> page = empleadoService.getEmployeesByFilter(Long.parseLong(id), nombre, apellidos, dni, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        final Slice<Empleado> page = empleadoService.getEmployeesByFilter(id, nombre, apellidos, dni, idMatch, count, pageable);
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET  /empleados/get-employees-by-filter/export} : export the empleados matching the filter, as CSV or NDJSON, without paging.
+     * @param id the id of the empleado to retrieve.
+     * @param nombre the nombre of the empleado to retrieve.
+     * @param apellidos the apellidos of the empleado to retrieve.
+     * @param dni the dni of the empleado to retrieve.
+     * @param idMatch {@code EXACT} (default) to match the id by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param format {@code CSV} (default) or {@code NDJSON}.
+     * @param sort the order of the rows.
+     * @param response the response the rows are streamed to.
+     * @throws IOException if the rows can't be written.
+     */
+    @GetMapping(value = "/empleados/get-employees-by-filter/export", params = { "id", "nombre", "apellidos", "dni" })
+    public void exportEmployeesByFilter(
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
+        @RequestParam(value = "nombre", defaultValue = "") String nombre,
+        @RequestParam(value = "apellidos", defaultValue = "") String apellidos,
+        @RequestParam(value = "dni", defaultValue = "") String dni,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+        Sort sort,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export empleados by filter: {}", format);
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"empleados." + format.getExtension() + "\"");
+        empleadoService.exportEmployeesByFilter(id, nombre, apellidos, dni, idMatch, sort, format, response.getOutputStream());
+    }
+
     /**
      * {@code DELETE  /empleados/:id} : delete the "id" empleado.
      *
@@ -2,14 +2,27 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Venta;
 import com.mycompany.myapp.repository.VentaRepository;
+import com.mycompany.myapp.service.CountMode;
+import com.mycompany.myapp.service.ExportFormat;
+import com.mycompany.myapp.service.KeysetSlice;
 import com.mycompany.myapp.service.VentaService;
+import com.mycompany.myapp.service.VentaStatsGroup;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.criteria.VentaCriteria;
+import com.mycompany.myapp.service.dto.VentaStatsDTO;
+import com.mycompany.myapp.service.dto.VentaSummaryDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.myapp.web.rest.util.SlicePaginationUtil;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -17,6 +30,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -153,6 +169,52 @@ public class VentaResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /ventas/summaries} : get the summaries of all the ventas, a lighter alternative to {@code GET  /ventas}.
+     * They can be filtered and sorted by the columns of the venta, such as {@code vehicleCount.greaterThanOrEqual=2} or
+     * {@code sort=computedTotal,desc}, without joining its coches and motos.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping("/ventas/summaries")
+    public ResponseEntity<List<VentaSummaryDTO>> getAllVentaSummaries(VentaCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get a page of Venta summaries by criteria: {}", criteria);
+        Page<VentaSummaryDTO> page = ventaService.findAllSummaries(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /ventas/stats} : get the number of ventas, their revenue and their average total by day, month, empleado or
+     * cliente, read from pre-computed rollups instead of aggregating the ventas.
+     *
+     * @param groupBy {@code DAY}, {@code MONTH}, {@code EMPLEADO} or {@code CLIENTE}.
+     * @param from the first day (UTC) of the DAY and MONTH groups, optional.
+     * @param to the last day (UTC) of the DAY and MONTH groups, optional.
+     * @param pageable the pagination information; periods are sorted in chronological order, empleados and clientes by
+     *                 decreasing revenue.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of statistics in body, or with status
+     * {@code 400 (Bad Request)} if a range is given for the EMPLEADO or CLIENTE groups.
+     */
+    @GetMapping("/ventas/stats")
+    public ResponseEntity<List<VentaStatsDTO>> getSalesStats(
+        @RequestParam(defaultValue = "DAY") VentaStatsGroup groupBy,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        Pageable pageable
+    ) {
+        log.debug("REST request to get the Venta stats by {} from {} to {}", groupBy, from, to);
+        boolean byPeriod = groupBy == VentaStatsGroup.DAY || groupBy == VentaStatsGroup.MONTH;
+        if (!byPeriod && (from != null || to != null)) {
+            throw new BadRequestAlertException("Only the DAY and MONTH stats have a date range", ENTITY_NAME, "statsrangeunsupported");
+        }
+        Page<VentaStatsDTO> page = ventaService.getSalesStats(groupBy, from, to, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
     /**
      * {@code GET  /ventas/:id} : get the "id" venta.
      *
@@ -167,42 +229,163 @@ public class VentaResource {
     }
 
     /**
-     * {@code GET  /clientes/:id&:nombre&:apellidos&:dni} : get list clientes.
-     * @param id the id of the cliente to retrieve.
-     * @param nombre the name of the cliente to retrieve.
-     * @param apellidos the apellidos of the cliente to retrieve.
-     * @param dni the dni of the cliente to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new cliente, or with status {@code 400 (Bad Request)} if the cliente has already an ID.
-     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * {@code GET  /ventas/get-sales-by-filter} : get the ventas matching the filter.
+     * @param queryParams the query parameters of the request, for the pagination links.
+     * @param uriBuilder the builder of the pagination links.
+     * @param pageable the pagination information.
+     * @param id the ids of the ventas to retrieve.
+     * @param totalI the lowest total of the ventas to retrieve, {@code 0} for no lower bound.
+     * @param totalF the highest total of the ventas to retrieve, {@code 0} for no upper bound.
+     * @param fechaI the start of the fecha range of the ventas to retrieve, as an ISO-8601 instant.
+     * @param fechaF the end of the fecha range of the ventas to retrieve, as an ISO-8601 instant.
+     * @param idC the ids of the clientes of the ventas to retrieve.
+     * @param idE the ids of the empleados of the ventas to retrieve.
+     * @param idMatch {@code EXACT} (default) to match id, idC and idE by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param count {@code EXACT} (default) to count the matches, {@code NONE} to skip the count and only tell whether there is a
+     * next page, {@code ESTIMATE} to reuse a recent count, flagged with {@code X-Total-Count-Approximate}.
+     * @param cursor when present (empty for the first slice), switches to keyset pagination: the slice after the cursor is
+     * returned with the cursor of the next one in the {@code X-Next-Cursor} header, and no total count.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ventas in body.
      */
     @GetMapping(value = "/ventas/get-sales-by-filter", params = { "id", "totalI", "totalF", "fechaI", "fechaF", "idC", "idE" })
     public ResponseEntity<List<Venta>> getSalesByFilter(
         @RequestParam MultiValueMap<String, String> queryParams,
         UriComponentsBuilder uriBuilder,
         Pageable pageable,
-        @RequestParam(value = "id", defaultValue = "0") String id,
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
         @RequestParam(value = "totalI", defaultValue = "0") String totalI,
         @RequestParam(value = "totalF", defaultValue = "0") String totalF,
         @RequestParam(value = "fechaI") String fechaI,
         @RequestParam(value = "fechaF") String fechaF,
-        @RequestParam(value = "idC", defaultValue = "0") String idC,
-        @RequestParam(value = "idE", defaultValue = "0") String idE
+        @RequestParam(value = "idC", defaultValue = "0") List<Long> idC,
+        @RequestParam(value = "idE", defaultValue = "0") List<Long> idE,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "count", defaultValue = "EXACT") CountMode count,
+        @RequestParam(value = "cursor", required = false) String cursor
     ) {
         log.debug("REST request to sales by filter: {}", id, totalI, totalF, fechaI, fechaF, idC, idE);
-        final Page<Venta> page = ventaService.getSelesByFilter(
-            Long.parseLong(id),
+        if (cursor != null) {
+            final KeysetSlice<Venta> slice = ventaService.getSalesByFilterAfter(
+                id,
+                Double.parseDouble(totalI),
+                Double.parseDouble(totalF),
+                Instant.parse(fechaI),
+                Instant.parse(fechaF),
+                idC,
+                idE,
+                idMatch,
+                cursor,
+                pageable
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(uriBuilder.queryParams(queryParams), slice);
+            return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+        }
+        final Slice<Venta> page = ventaService.getSelesByFilter(
+            id,
             Double.parseDouble(totalI),
             Double.parseDouble(totalF),
             Instant.parse(fechaI),
             Instant.parse(fechaF),
-            Long.parseLong(idC),
-            Long.parseLong(idE),
+            idC,
+            idE,
+            idMatch,
+            count,
             pageable
         );
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET  /ventas/get-sales-by-filter/summaries} : get the summaries of the ventas matching the filter, a lighter alternative to
+     * {@code GET  /ventas/get-sales-by-filter} which neither loads nor serializes the entities.
+     *
+     * @param pageable the pagination information.
+     * @param id the ids of the ventas to retrieve.
+     * @param totalI the lowest total of the ventas to retrieve, {@code 0} for no lower bound.
+     * @param totalF the highest total of the ventas to retrieve, {@code 0} for no upper bound.
+     * @param fechaI the start of the fecha range of the ventas to retrieve, as an ISO-8601 instant.
+     * @param fechaF the end of the fecha range of the ventas to retrieve, as an ISO-8601 instant.
+     * @param idC the ids of the clientes of the ventas to retrieve.
+     * @param idE the ids of the empleados of the ventas to retrieve.
+     * @param idMatch {@code EXACT} (default) to match id, idC and idE by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of summaries in body.
+     */
+    @GetMapping(value = "/ventas/get-sales-by-filter/summaries", params = { "id", "totalI", "totalF", "fechaI", "fechaF", "idC", "idE" })
+    public ResponseEntity<List<VentaSummaryDTO>> getSaleSummariesByFilter(
+        Pageable pageable,
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
+        @RequestParam(value = "totalI", defaultValue = "0") String totalI,
+        @RequestParam(value = "totalF", defaultValue = "0") String totalF,
+        @RequestParam(value = "fechaI") String fechaI,
+        @RequestParam(value = "fechaF") String fechaF,
+        @RequestParam(value = "idC", defaultValue = "0") List<Long> idC,
+        @RequestParam(value = "idE", defaultValue = "0") List<Long> idE,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch
+    ) {
+        log.debug("REST request to get Venta summaries by filter");
+        Page<VentaSummaryDTO> page = ventaService.getSaleSummariesByFilter(
+            id,
+            Double.parseDouble(totalI),
+            Double.parseDouble(totalF),
+            Instant.parse(fechaI),
+            Instant.parse(fechaF),
+            idC,
+            idE,
+            idMatch,
+            pageable
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /ventas/get-sales-by-filter/export} : export the ventas matching the filter, as CSV or NDJSON, without paging.
+     * @param id the ids of the ventas to export.
+     * @param totalI the lowest total of the ventas to export, {@code 0} for no lower bound.
+     * @param totalF the highest total of the ventas to export, {@code 0} for no upper bound.
+     * @param fechaI the start of the fecha range of the ventas to export, as an ISO-8601 instant.
+     * @param fechaF the end of the fecha range of the ventas to export, as an ISO-8601 instant.
+     * @param idC the ids of the clientes of the ventas to export.
+     * @param idE the ids of the empleados of the ventas to export.
+     * @param idMatch {@code EXACT} (default) to match id, idC and idE by equality/IN-list, {@code PREFIX} for autocomplete.
+     * @param format {@code CSV} (default) or {@code NDJSON}.
+     * @param sort the order of the rows.
+     * @param response the response the rows are streamed to.
+     * @throws IOException if the rows can't be written.
+     */
+    @GetMapping(value = "/ventas/get-sales-by-filter/export", params = { "id", "totalI", "totalF", "fechaI", "fechaF", "idC", "idE" })
+    public void exportSalesByFilter(
+        @RequestParam(value = "id", defaultValue = "0") List<Long> id,
+        @RequestParam(value = "totalI", defaultValue = "0") String totalI,
+        @RequestParam(value = "totalF", defaultValue = "0") String totalF,
+        @RequestParam(value = "fechaI") String fechaI,
+        @RequestParam(value = "fechaF") String fechaF,
+        @RequestParam(value = "idC", defaultValue = "0") List<Long> idC,
+        @RequestParam(value = "idE", defaultValue = "0") List<Long> idE,
+        @RequestParam(value = "idMatch", defaultValue = "EXACT") IdMatch idMatch,
+        @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+        Sort sort,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export ventas by filter: {}", format);
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ventas." + format.getExtension() + "\"");
+        ventaService.exportSalesByFilter(
+            id,
+            Double.parseDouble(totalI),
+            Double.parseDouble(totalF),
+            Instant.parse(fechaI),
+            Instant.parse(fechaF),
+            idC,
+            idE,
+            idMatch,
+            sort,
+            format,
+            response.getOutputStream()
+        );
+    }
+
     /**
      * {@code DELETE  /ventas/:id} : delete the "id" venta.
      *
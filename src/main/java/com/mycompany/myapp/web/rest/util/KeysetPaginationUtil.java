@@ -0,0 +1,36 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.KeysetSlice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination, the cursor-based counterpart of {@link tech.jhipster.web.util.PaginationUtil}.
+ * <p>
+ * The cursor of the next slice is sent in the {@code X-Next-Cursor} header and as a {@code rel="next"} link; both are missing on the
+ * last slice. No total count is sent.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String HEADER_X_NEXT_CURSOR = "X-Next-Cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link KeysetSlice} object.
+     *
+     * @param uriBuilder The URI builder, with the query parameters of the current request.
+     * @param slice The slice.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.getNextCursor() != null) {
+            headers.add(HEADER_X_NEXT_CURSOR, slice.getNextCursor());
+            String next = uriBuilder.replaceQueryParam("cursor", slice.getNextCursor()).replaceQueryParam("page").toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,207 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.config.ThreadLocalStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.hibernate.stat.Statistics;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor timing the requests handled by the {@code *Resource} controllers, and recording the JDBC statements and rows each
+ * one needed, as counted by {@link ThreadLocalStatistics}. Those are only counted while the Hibernate statistics are enabled,
+ * so the JDBC meters are not recorded for the requests which start or end while they are disabled, instead of reading 0.
+ * <p>
+ * The meters are tagged with the {@code endpoint} (controller and method), the {@code filters} sent with a value other than
+ * their default, the bucket of the page {@code size} and the response {@code status}, so the filter combinations behind slow
+ * queries and N+1 selects stand out. Only the declared {@code @RequestParam}s are considered and the sizes are bucketed, which keeps
+ * the number of series bounded.
+ */
+public class ResourceMetricsInterceptor implements HandlerInterceptor {
+
+    public static final String REQUESTS_METER = "resource.requests";
+
+    public static final String STATEMENTS_METER = "resource.jdbc.statements";
+
+    public static final String ROWS_METER = "resource.jdbc.rows";
+
+    private static final String START_ATTRIBUTE = ResourceMetricsInterceptor.class.getName() + ".START";
+
+    private static final Set<String> PAGING_PARAMETERS = Set.of("page", "size", "sort", "cursor", "count");
+
+    private static final Set<String> NO_FILTER_VALUES = Set.of("", "0");
+
+    private static final String NONE = "none";
+
+    private static final int SMALL_PAGE = 20;
+
+    private static final int LARGE_PAGE = 100;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Statistics statistics;
+
+    private final ConcurrentMap<Method, ResourceMethod> resourceMethods = new ConcurrentHashMap<>();
+
+    public ResourceMetricsInterceptor(MeterRegistry meterRegistry, Statistics statistics) {
+        this.meterRegistry = meterRegistry;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && ((HandlerMethod) handler).getBeanType().getSimpleName().endsWith("Resource")) {
+            request.setAttribute(START_ATTRIBUTE, new Start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Start)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        ResourceMethod resourceMethod = resourceMethods.computeIfAbsent(handlerMethod.getMethod(), m -> new ResourceMethod(handlerMethod));
+        Tags tags = Tags.of(
+            "endpoint",
+            resourceMethod.endpoint,
+            "filters",
+            resourceMethod.filters(request),
+            "size",
+            resourceMethod.pageSize(request),
+            "status",
+            Integer.toString(response.getStatus())
+        );
+        ((Start) start).record(tags);
+    }
+
+    /**
+     * The time and the counts of {@link ThreadLocalStatistics} when a request started.
+     */
+    private final class Start {
+
+        private final long nanoTime = System.nanoTime();
+
+        private final boolean counted = statistics.isStatisticsEnabled();
+
+        private final long statements = ThreadLocalStatistics.statementCount();
+
+        private final long rows = ThreadLocalStatistics.rowCount();
+
+        void record(Tags tags) {
+            Timer
+                .builder(REQUESTS_METER)
+                .description("Requests handled by the REST resources")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(System.nanoTime() - nanoTime, TimeUnit.NANOSECONDS);
+            if (!counted || !statistics.isStatisticsEnabled()) {
+                return;
+            }
+            DistributionSummary
+                .builder(STATEMENTS_METER)
+                .description("JDBC statements prepared per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(ThreadLocalStatistics.statementCount() - statements);
+            DistributionSummary
+                .builder(ROWS_METER)
+                .description("Entities read from JDBC result sets per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(ThreadLocalStatistics.rowCount() - rows);
+        }
+    }
+
+    /**
+     * What the tags need to know about a handler method, computed once per method.
+     */
+    private static final class ResourceMethod {
+
+        private final String endpoint;
+
+        private final boolean paged;
+
+        /**
+         * Default value of every filter, by name, in declaration order.
+         */
+        private final Map<String, String> filterDefaults = new LinkedHashMap<>();
+
+        ResourceMethod(HandlerMethod handlerMethod) {
+            this.endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            boolean pageable = false;
+            for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+                pageable |= Pageable.class.isAssignableFrom(parameter.getParameterType());
+                RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+                if (requestParam == null || Map.class.isAssignableFrom(parameter.getParameterType())) {
+                    continue;
+                }
+                String name = !requestParam.name().isEmpty() ? requestParam.name() : parameter.getParameterName();
+                if (name == null || PAGING_PARAMETERS.contains(name)) {
+                    continue;
+                }
+                String defaultValue = requestParam.defaultValue();
+                filterDefaults.put(name, ValueConstants.DEFAULT_NONE.equals(defaultValue) ? "" : defaultValue);
+            }
+            this.paged = pageable;
+        }
+
+        /**
+         * @return the names of the filters sent with a value other than their default, {@code 0} or empty, in declaration order.
+         */
+        String filters(HttpServletRequest request) {
+            StringJoiner filters = new StringJoiner(",");
+            for (Map.Entry<String, String> filter : filterDefaults.entrySet()) {
+                String[] values = request.getParameterValues(filter.getKey());
+                if (values == null) {
+                    continue;
+                }
+                for (String value : values) {
+                    if (!NO_FILTER_VALUES.contains(value) && !value.equals(filter.getValue())) {
+                        filters.add(filter.getKey());
+                        break;
+                    }
+                }
+            }
+            return filters.length() == 0 ? NONE : filters.toString();
+        }
+
+        /**
+         * @return {@code <=20}, {@code <=100} or {@code >100} for the requested page size, {@code default} when none is sent and
+         * {@code none} for a method which isn't paged.
+         */
+        String pageSize(HttpServletRequest request) {
+            if (!paged) {
+                return NONE;
+            }
+            String size = request.getParameter("size");
+            if (size == null || size.isEmpty() || !size.chars().allMatch(Character::isDigit)) {
+                return "default";
+            }
+            long value = size.length() > 9 ? Long.MAX_VALUE : Long.parseLong(size);
+            if (value <= SMALL_PAGE) {
+                return "<=" + SMALL_PAGE;
+            }
+            return value <= LARGE_PAGE ? "<=" + LARGE_PAGE : ">" + LARGE_PAGE;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.EstimatedPage;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for handling the pagination headers of results which may not be counted.
+ * <p>
+ * A {@link Page} gets the usual {@link PaginationUtil} headers; if it is an {@link EstimatedPage}, the
+ * {@code X-Total-Count-Approximate} header tells whether {@code X-Total-Count} is exact. A plain {@link Slice} has no total: the
+ * {@code X-Has-Next} header and the {@code rel="next"} and {@code rel="prev"} links are sent instead.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String HEADER_X_TOTAL_COUNT_APPROXIMATE = "X-Total-Count-Approximate";
+
+    public static final String HEADER_X_HAS_NEXT = "X-Has-Next";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder The URI builder, with the query parameters of the current request.
+     * @param slice The slice, or page.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        if (slice instanceof Page) {
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, (Page<T>) slice);
+            if (slice instanceof EstimatedPage) {
+                headers.add(HEADER_X_TOTAL_COUNT_APPROXIMATE, Boolean.toString(((EstimatedPage<T>) slice).isApproximate()));
+            }
+            return headers;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_HAS_NEXT, Boolean.toString(slice.hasNext()));
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(link(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(link(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int page, int size, String rel) {
+        String uri = uriBuilder.replaceQueryParam("page", page).replaceQueryParam("size", size).toUriString();
+        return "<" + uri + ">; rel=\"" + rel + "\"";
+    }
+}
@@ -1 +1,6 @@
 export const ITEMS_PER_PAGE = 20;
+
+export type CountMode = 'EXACT' | 'NONE' | 'ESTIMATE';
+// Los listados filtrados reutilizan un total reciente en vez de contar en cada pagina
+export const FILTER_COUNT_MODE: CountMode = 'ESTIMATE';
+export const TOTAL_COUNT_APPROXIMATE_HEADER = 'X-Total-Count-Approximate';
@@ -6,7 +6,7 @@ import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import { ICliente } from '../cliente.model';
 
-import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+import { ITEMS_PER_PAGE, FILTER_COUNT_MODE, TOTAL_COUNT_APPROXIMATE_HEADER } from 'app/config/pagination.constants';
 import { ClienteService } from '../service/cliente.service';
 import { ClienteDeleteDialogComponent } from '../delete/cliente-delete-dialog.component';
 import { Login } from 'app/login/login.model';
@@ -19,6 +19,7 @@ export class ClienteComponent implements OnInit {
   clientes?: ICliente[];
   isLoading = false;
   totalItems = 0;
+  totalItemsApproximate = false;
   itemsPerPage = ITEMS_PER_PAGE;
   page?: number;
   predicate!: string;
@@ -73,6 +74,7 @@ export class ClienteComponent implements OnInit {
           page: pageToLoad - 1,
           size: this.itemsPerPage,
           sort: this.sort(),
+          count: FILTER_COUNT_MODE,
           id: idA,
           nombre: this.filtroName !== undefined ? this.filtroName : '',
           apellidos: this.filtroSurName !== undefined ? this.filtroSurName : '',
@@ -135,6 +137,7 @@ export class ClienteComponent implements OnInit {
 
   protected onSuccess(data: ICliente[] | null, headers: HttpHeaders, page: number, navigate: boolean): void {
     this.totalItems = Number(headers.get('X-Total-Count'));
+    this.totalItemsApproximate = headers.get(TOTAL_COUNT_APPROXIMATE_HEADER) === 'true';
     this.page = page;
     if (navigate) {
       this.router.navigate(['/cliente'], {
@@ -6,7 +6,7 @@ import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import { ICoche } from '../coche.model';
 
-import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+import { ITEMS_PER_PAGE, FILTER_COUNT_MODE, TOTAL_COUNT_APPROXIMATE_HEADER } from 'app/config/pagination.constants';
 import { CocheService } from '../service/coche.service';
 import { CocheDeleteDialogComponent } from '../delete/coche-delete-dialog.component';
 import { faTerminal } from '@fortawesome/free-solid-svg-icons';
@@ -19,6 +19,7 @@ export class CocheComponent implements OnInit {
   coches?: ICoche[];
   isLoading = false;
   totalItems = 0;
+  totalItemsApproximate = false;
   itemsPerPage = ITEMS_PER_PAGE;
   page?: number;
   predicate!: string;
@@ -147,6 +148,7 @@ export class CocheComponent implements OnInit {
           page: pageToLoad - 1,
           size: this.itemsPerPage,
           sort: this.sort(),
+          count: FILTER_COUNT_MODE,
           id: idA,
           color: colorA,
           modelo: modeloA,
@@ -224,6 +226,7 @@ export class CocheComponent implements OnInit {
 
   protected onSuccess(data: ICoche[] | null, headers: HttpHeaders, page: number, navigate: boolean): void {
     this.totalItems = Number(headers.get('X-Total-Count'));
+    this.totalItemsApproximate = headers.get(TOTAL_COUNT_APPROXIMATE_HEADER) === 'true';
     this.page = page;
     if (navigate) {
       this.router.navigate(['/coche'], {
@@ -6,7 +6,7 @@ import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import { IEmpleado } from '../empleado.model';
 
-import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+import { ITEMS_PER_PAGE, FILTER_COUNT_MODE, TOTAL_COUNT_APPROXIMATE_HEADER } from 'app/config/pagination.constants';
 import { EmpleadoService } from '../service/empleado.service';
 import { EmpleadoDeleteDialogComponent } from '../delete/empleado-delete-dialog.component';
 
@@ -18,6 +18,7 @@ export class EmpleadoComponent implements OnInit {
   empleados?: IEmpleado[];
   isLoading = false;
   totalItems = 0;
+  totalItemsApproximate = false;
   itemsPerPage = ITEMS_PER_PAGE;
   page?: number;
   predicate!: string;
@@ -72,6 +73,7 @@ export class EmpleadoComponent implements OnInit {
           page: pageToLoad - 1,
           size: this.itemsPerPage,
           sort: this.sort(),
+          count: FILTER_COUNT_MODE,
           id: idA,
           nombre: this.filtroName !== undefined ? this.filtroName : '',
           apellidos: this.filtroSurName !== undefined ? this.filtroSurName : '',
@@ -134,6 +136,7 @@ export class EmpleadoComponent implements OnInit {
 
   protected onSuccess(data: IEmpleado[] | null, headers: HttpHeaders, page: number, navigate: boolean): void {
     this.totalItems = Number(headers.get('X-Total-Count'));
+    this.totalItemsApproximate = headers.get(TOTAL_COUNT_APPROXIMATE_HEADER) === 'true';
     this.page = page;
     if (navigate) {
       this.router.navigate(['/empleado'], {
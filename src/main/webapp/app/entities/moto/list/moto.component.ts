@@ -6,7 +6,7 @@ import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import { IMoto } from '../moto.model';
 
-import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+import { ITEMS_PER_PAGE, FILTER_COUNT_MODE, TOTAL_COUNT_APPROXIMATE_HEADER } from 'app/config/pagination.constants';
 import { MotoService } from '../service/moto.service';
 import { MotoDeleteDialogComponent } from '../delete/moto-delete-dialog.component';
 import { IVenta } from 'app/entities/venta/venta.model';
@@ -19,6 +19,7 @@ export class MotoComponent implements OnInit {
   motos?: IMoto[];
   isLoading = false;
   totalItems = 0;
+  totalItemsApproximate = false;
   itemsPerPage = ITEMS_PER_PAGE;
   page?: number;
   predicate!: string;
@@ -147,6 +148,7 @@ export class MotoComponent implements OnInit {
           page: pageToLoad - 1,
           size: this.itemsPerPage,
           sort: this.sort(),
+          count: FILTER_COUNT_MODE,
           id: idA,
           color: colorA,
           modelo: modeloA,
@@ -225,6 +227,7 @@ export class MotoComponent implements OnInit {
 
   protected onSuccess(data: IMoto[] | null, headers: HttpHeaders, page: number, navigate: boolean): void {
     this.totalItems = Number(headers.get('X-Total-Count'));
+    this.totalItemsApproximate = headers.get(TOTAL_COUNT_APPROXIMATE_HEADER) === 'true';
     this.page = page;
     if (navigate) {
       this.router.navigate(['/moto'], {
@@ -6,7 +6,7 @@ import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import { IVenta } from '../venta.model';
 
-import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+import { ITEMS_PER_PAGE, FILTER_COUNT_MODE, TOTAL_COUNT_APPROXIMATE_HEADER } from 'app/config/pagination.constants';
 import { VentaService } from '../service/venta.service';
 import { VentaDeleteDialogComponent } from '../delete/venta-delete-dialog.component';
 
@@ -18,6 +18,7 @@ export class VentaComponent implements OnInit {
   ventas?: IVenta[];
   isLoading = false;
   totalItems = 0;
+  totalItemsApproximate = false;
   itemsPerPage = ITEMS_PER_PAGE;
   page?: number;
   predicate!: string;
@@ -135,6 +136,7 @@ export class VentaComponent implements OnInit {
           page: pageToLoad - 1,
           size: this.itemsPerPage,
           sort: this.sort(),
+          count: FILTER_COUNT_MODE,
           id: idA,
           totalI: totalIA,
           totalF: totalFA,
@@ -211,6 +213,7 @@ export class VentaComponent implements OnInit {
 
   protected onSuccess(data: IVenta[] | null, headers: HttpHeaders, page: number, navigate: boolean): void {
     this.totalItems = Number(headers.get('X-Total-Count'));
+    this.totalItemsApproximate = headers.get(TOTAL_COUNT_APPROXIMATE_HEADER) === 'true';
     this.page = page;
     if (navigate) {
       this.router.navigate(['/venta'], {
@@ -8,6 +8,8 @@ export interface IVenta {
   id?: number;
   total?: number;
   fecha?: dayjs.Dayjs | null;
+  vehicleCount?: number;
+  computedTotal?: number;
   coches?: ICoche[] | null;
   motos?: IMoto[] | null;
   cliente?: ICliente | null;
@@ -47,5 +47,19 @@ describe('ItemCountComponent test', () => {
       expect(comp.second).toBe(20);
       expect(comp.total).toBe(100);
     });
+
+    it('should flag an estimated total', () => {
+      // GIVEN
+      comp.params = { page: 1, totalItems: 100, itemsPerPage: 10, approximate: true };
+
+      // THEN
+      expect(comp.approximate).toBe(true);
+
+      // GIVEN
+      comp.params = { page: 1, totalItems: 100, itemsPerPage: 10 };
+
+      // THEN
+      expect(comp.approximate).toBe(false);
+    });
   });
 });
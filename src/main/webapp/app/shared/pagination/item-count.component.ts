@@ -5,7 +5,12 @@ import { Component, Input } from '@angular/core';
  */
 @Component({
   selector: 'jhi-item-count',
-  template: ` <div jhiTranslate="global.item-count" [translateValues]="{ first: first, second: second, total: total }"></div> `,
+  template: `
+    <div
+      [jhiTranslate]="approximate ? 'global.item-count-approximate' : 'global.item-count'"
+      [translateValues]="{ first: first, second: second, total: total }"
+    ></div>
+  `,
 })
 export class ItemCountComponent {
   /**
@@ -13,8 +18,9 @@ export class ItemCountComponent {
    *                    page          Current page number
    *                    totalItems    Total number of items
    *                    itemsPerPage  Number of items per page
+   *                    approximate   Whether totalItems is an estimate
    */
-  @Input() set params(params: { page?: number; totalItems?: number; itemsPerPage?: number }) {
+  @Input() set params(params: { page?: number; totalItems?: number; itemsPerPage?: number; approximate?: boolean }) {
     if (params.page !== undefined && params.totalItems !== undefined && params.itemsPerPage !== undefined) {
       this.first = (params.page - 1) * params.itemsPerPage === 0 ? 1 : (params.page - 1) * params.itemsPerPage + 1;
       this.second = params.page * params.itemsPerPage < params.totalItems ? params.page * params.itemsPerPage : params.totalItems;
@@ -23,9 +29,11 @@ export class ItemCountComponent {
       this.second = undefined;
     }
     this.total = params.totalItems;
+    this.approximate = params.approximate ?? false;
   }
 
   first?: number;
   second?: number;
   total?: number;
+  approximate = false;
 }
@@ -0,0 +1,73 @@
+package com.mycompany.myapp.aop.logging;
+
+import com.mycompany.myapp.service.EntitySnapshotCache;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Overhead of {@link LoggingAspect#logAround} on a cheap service call, with the logger at the level of the logback configuration.
+ * {@code direct} is the cost with {@code application.logging.aspect: none}, where the service is not proxied, and
+ * {@code loggerLookup} the {@link LoggerFactory} lookup the aspect made on every call before caching the loggers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    private static final String CACHE = "benchmark";
+
+    private EntitySnapshotCache service;
+
+    private EntitySnapshotCache advisedService;
+
+    @Setup
+    public void setup() {
+        service = new EntitySnapshotCache(new ConcurrentMapCacheManager(CACHE));
+        service.get(CACHE, 1L, () -> Optional.of("snapshot"));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(service);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new MockEnvironment(), 1));
+        advisedService = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public Optional<Object> direct() {
+        return service.get(CACHE, 1L, Optional::empty);
+    }
+
+    @Benchmark
+    public Optional<Object> withLoggingAspect() {
+        return advisedService.get(CACHE, 1L, Optional::empty);
+    }
+
+    @Benchmark
+    public Logger loggerLookup() {
+        return LoggerFactory.getLogger(EntitySnapshotCache.class.getName());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Venta;
+import javax.cache.CacheManager;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the per-region sizing of {@link CacheConfiguration}, configured in the test {@code application.yml}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void configuredRegionUsesItsOwnTiers() {
+        ResourcePools pools = resourcePools(Venta.class.getName() + ".coches");
+
+        SizedResourcePool heap = pools.getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getSize()).isEqualTo(10);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        SizedResourcePool offHeap = pools.getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getSize()).isEqualTo(1024);
+        assertThat(offHeap.getUnit()).isEqualTo(MemoryUnit.KB);
+    }
+
+    @Test
+    void otherRegionsStayOnTheHeap() {
+        ResourcePools pools = resourcePools(Venta.class.getName());
+
+        assertThat(pools.getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourcePools resourcePools(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+}
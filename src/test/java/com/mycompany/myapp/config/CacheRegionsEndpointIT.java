@@ -0,0 +1,59 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.repository.FilterQueryCache;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link CacheRegionsEndpoint}.
+ */
+@IntegrationTest
+class CacheRegionsEndpointIT {
+
+    @Autowired
+    private CacheRegionsEndpoint endpoint;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.getCache(FilterQueryCache.REGION).clear();
+    }
+
+    @Test
+    void listsEveryRegion() {
+        assertThat(endpoint.regions())
+            .extracting(CacheRegionsEndpoint.CacheRegion::getName)
+            .contains(Venta.class.getName(), Venta.class.getName() + ".coches", FilterQueryCache.REGION)
+            .isSorted();
+    }
+
+    @Test
+    void describesTheContentAndTrafficOfARegion() {
+        Cache<Object, Object> cache = cacheManager.getCache(FilterQueryCache.REGION);
+        Long hits = endpoint.region(FilterQueryCache.REGION).getHits();
+        assertThat(hits).isNotNull();
+        cache.put("key", "value");
+        cache.get("key");
+
+        CacheRegionsEndpoint.CacheRegion region = endpoint.region(FilterQueryCache.REGION);
+
+        assertThat(region.getSize()).isEqualTo(1);
+        assertThat(region.getTierSizes()).containsEntry("OnHeap", 1L);
+        assertThat(region.getFirstKeys()).containsExactly("key");
+        assertThat(region.getHits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void unknownRegionIsNotFound() {
+        assertThat(endpoint.region("unknown")).isNull();
+    }
+}
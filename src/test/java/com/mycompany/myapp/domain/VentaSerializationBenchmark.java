@@ -0,0 +1,70 @@
+package com.mycompany.myapp.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.JacksonConfiguration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of serializing a {@link Venta} with its coches, motos, cliente and empleado, with the modules of {@link JacksonConfiguration}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VentaSerializationBenchmark {
+
+    @Param({ "1", "10" })
+    private int vehicles;
+
+    private ObjectMapper objectMapper;
+
+    private Venta venta;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate5Module()
+                )
+                .build();
+
+        Instant fecha = Instant.parse("2021-04-01T10:00:00Z");
+        venta =
+            new Venta()
+                .id(1L)
+                .total(25000D)
+                .fecha(fecha)
+                .cliente(new Cliente().id(1L).nombre("Ana").apellidos("Garcia Lopez").dni("12345678A"))
+                .empleado(new Empleado().id(1L).nombre("Luis").apellidos("Martin Ruiz").dni("87654321B"));
+        for (long i = 0; i < vehicles; i++) {
+            venta.addCoche(new Coche().id(i).color("Rojo").modelo("Ibiza").marca("Seat").anio(fecha).precio(15000D));
+            venta.addMoto(new Moto().id(i).color("Negro").modelo("MT-07").marca("Yamaha").anio(fecha).precio(7000D));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeVenta() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(venta);
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies and errors of the requests sent to one endpoint. Every virtual user records into its own instance, which are merged
+ * at the end of the run, so recording needs no synchronization.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+
+    private int count;
+
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    /**
+     * @param seconds the measured time.
+     * @return the count, errors, throughput and latency percentiles, in milliseconds.
+     */
+    Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughput", round(count / seconds));
+        summary.put("p50", millis(percentile(sorted, 50)));
+        summary.put("p90", millis(percentile(sorted, 90)));
+        summary.put("p99", millis(percentile(sorted, 99)));
+        summary.put("max", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
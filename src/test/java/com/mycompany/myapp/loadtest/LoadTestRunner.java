@@ -0,0 +1,357 @@
+package com.mycompany.myapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load test of the endpoints the dealers use the most: the coche and venta filters, creating and updating ventas, and logging in.
+ * <p>
+ * It runs against an application which is already started with the rows of the {@code loadtest} Liquibase context, on MySQL or
+ * on H2:
+ * <pre>
+ * ./mvnw -Dspring-boot.run.arguments=--spring.liquibase.contexts=dev,loadtest
+ * ./mvnw -Ploadtest verify -DskipTests -Dloadtest.users=50 -Dloadtest.duration=PT5M
+ * </pre>
+ * Every virtual user logs in, then sends requests drawn from {@link Endpoint} by weight, each one as soon as the previous one is
+ * answered. The requests of the warm-up are not measured. The throughput and the p50/p90/p99 latencies of every endpoint are
+ * printed, and written as JSON to {@code loadtest.result} so that two runs can be compared.
+ */
+public final class LoadTestRunner {
+
+    /**
+     * The mix of requests, by weight.
+     */
+    enum Endpoint {
+        CARS_BY_FILTER(40),
+        SALES_BY_FILTER(30),
+        CREATE_VENTA(10),
+        UPDATE_VENTA(10),
+        AUTHENTICATE(10);
+
+        private final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final String[] MARCAS = { "Seat", "Renault", "Peugeot", "Toyota", "Ford", "Kia", "Audi", "Fiat", "Citroen", "Opel" };
+
+    private static final String[] COLORES = { "Rojo", "Negro", "Blanco", "Gris", "Azul", "Verde" };
+
+    private static final String FECHA_MIN = "1900-01-01T00:00:00Z";
+
+    private static final String FECHA_MAX = "2100-01-01T00:00:00Z";
+
+    private static final Instant SEED_DATE = Instant.parse("2021-10-17T00:00:00Z");
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private static final int KEPT_VENTAS = 100;
+
+    private static final String ROW = "%-16s %10s %8s %10s %10s %10s %10s";
+
+    private final LoadTestSettings settings;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadTestRunner(LoadTestSettings settings) {
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner(new LoadTestSettings()).run();
+    }
+
+    void run() throws Exception {
+        System.out.println("Load test: " + settings);
+        long measureFrom = System.nanoTime() + settings.warmup.toNanos();
+        long end = measureFrom + settings.duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.users);
+        List<Future<Map<Endpoint, LatencyRecorder>>> users = new ArrayList<>();
+        for (int i = 0; i < settings.users; i++) {
+            users.add(executor.submit(() -> new VirtualUser().run(measureFrom, end)));
+        }
+        Map<Endpoint, LatencyRecorder> recorders = newRecorders();
+        LatencyRecorder all = new LatencyRecorder();
+        for (Future<Map<Endpoint, LatencyRecorder>> user : users) {
+            user
+                .get()
+                .forEach(
+                    (endpoint, recorder) -> {
+                        recorders.get(endpoint).merge(recorder);
+                        all.merge(recorder);
+                    }
+                );
+        }
+        executor.shutdown();
+        report(recorders, all);
+    }
+
+    private void report(Map<Endpoint, LatencyRecorder> recorders, LatencyRecorder all) throws IOException {
+        double seconds = settings.duration.toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint.name(), recorder.summary(seconds)));
+        endpoints.put("ALL", all.summary(seconds));
+
+        System.out.println(String.format(ROW, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        endpoints.forEach(
+            (name, value) -> {
+                Map<?, ?> summary = (Map<?, ?>) value;
+                System.out.println(
+                    String.format(
+                        ROW,
+                        name,
+                        summary.get("requests"),
+                        summary.get("errors"),
+                        summary.get("throughput"),
+                        summary.get("p50"),
+                        summary.get("p99"),
+                        summary.get("max")
+                    )
+                );
+            }
+        );
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("settings", settings.toString());
+        result.put("endpoints", endpoints);
+        File file = new File(settings.result);
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, result);
+        System.out.println("Results written to " + file.getAbsolutePath());
+    }
+
+    private static Map<Endpoint, LatencyRecorder> newRecorders() {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+        return recorders;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A dealer session: a token, and the ventas it created, which are the only ones it updates.
+     */
+    private class VirtualUser {
+
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        private final Map<Endpoint, LatencyRecorder> recorders = newRecorders();
+
+        private final Deque<Long> ventas = new ArrayDeque<>();
+
+        private String token;
+
+        Map<Endpoint, LatencyRecorder> run(long measureFrom, long end) throws IOException, InterruptedException {
+            send(Endpoint.AUTHENTICATE);
+            while (System.nanoTime() < end) {
+                Endpoint endpoint = next();
+                long start = System.nanoTime();
+                boolean error;
+                try {
+                    error = send(endpoint) >= 400;
+                } catch (IOException e) {
+                    error = true;
+                }
+                if (start >= measureFrom) {
+                    recorders.get(endpoint).record(System.nanoTime() - start, error);
+                }
+            }
+            return recorders;
+        }
+
+        private Endpoint next() {
+            int draw = random.nextInt(TOTAL_WEIGHT);
+            for (Endpoint endpoint : Endpoint.values()) {
+                draw -= endpoint.weight;
+                if (draw < 0) {
+                    return endpoint == Endpoint.UPDATE_VENTA && ventas.isEmpty() ? Endpoint.CREATE_VENTA : endpoint;
+                }
+            }
+            return Endpoint.CARS_BY_FILTER;
+        }
+
+        private int send(Endpoint endpoint) throws IOException, InterruptedException {
+            switch (endpoint) {
+                case CARS_BY_FILTER:
+                    return get("/api/coches/get-cars-by-filter?" + carsQuery()).statusCode();
+                case SALES_BY_FILTER:
+                    return get("/api/ventas/get-sales-by-filter?" + salesQuery()).statusCode();
+                case CREATE_VENTA:
+                    HttpResponse<String> created = send(request("/api/ventas").POST(json(venta(null))));
+                    if (created.statusCode() == 201) {
+                        ventas.addLast(objectMapper.readTree(created.body()).get("id").asLong());
+                        if (ventas.size() > KEPT_VENTAS) {
+                            ventas.removeFirst();
+                        }
+                    }
+                    return created.statusCode();
+                case UPDATE_VENTA:
+                    Long id = ventas.getLast();
+                    return send(request("/api/ventas/" + id).PUT(json(venta(id)))).statusCode();
+                case AUTHENTICATE:
+                default:
+                    Map<String, Object> login = new LinkedHashMap<>();
+                    login.put("username", settings.username);
+                    login.put("password", settings.password);
+                    login.put("rememberMe", false);
+                    HttpResponse<String> response = send(request("/api/authenticate").POST(json(login)));
+                    if (response.statusCode() == 200) {
+                        token = objectMapper.readTree(response.body()).get("id_token").asText();
+                    } else if (token == null) {
+                        throw new IllegalStateException("Could not log in as " + settings.username + ": " + response.statusCode());
+                    }
+                    return response.statusCode();
+            }
+        }
+
+        //Combinaciones habituales del filtro de coches: por marca, marca y color, rango de precio o sin filtro
+        private String carsQuery() {
+            String marca = "";
+            String color = "";
+            String precioI = "0";
+            String precioF = "0";
+            switch (random.nextInt(4)) {
+                case 0:
+                    marca = MARCAS[random.nextInt(MARCAS.length)];
+                    break;
+                case 1:
+                    marca = MARCAS[random.nextInt(MARCAS.length)];
+                    color = COLORES[random.nextInt(COLORES.length)];
+                    break;
+                case 2:
+                    int from = 3000 + random.nextInt(50) * 1000;
+                    precioI = String.valueOf(from);
+                    precioF = String.valueOf(from + 5000);
+                    break;
+                default:
+                    break;
+            }
+            return (
+                "id=0&color=" +
+                encode(color) +
+                "&modelo=&marca=" +
+                encode(marca) +
+                "&fechaI=" +
+                encode(FECHA_MIN) +
+                "&fechaF=" +
+                encode(FECHA_MAX) +
+                "&precioI=" +
+                precioI +
+                "&precioF=" +
+                precioF +
+                "&venta=0&count=ESTIMATE&page=" +
+                random.nextInt(5) +
+                "&size=20&sort=id,asc"
+            );
+        }
+
+        //Combinaciones habituales del filtro de ventas: por cliente, por empleado en un mes o por rango de total
+        private String salesQuery() {
+            String idC = "0";
+            String idE = "0";
+            String totalI = "0";
+            String totalF = "0";
+            String fechaI = FECHA_MIN;
+            String fechaF = FECHA_MAX;
+            switch (random.nextInt(3)) {
+                case 0:
+                    idC = String.valueOf(settings.idBase + random.nextInt(settings.clientes));
+                    break;
+                case 1:
+                    idE = String.valueOf(settings.idBase + random.nextInt(settings.empleados));
+                    Instant month = SEED_DATE.minus(random.nextInt(1000), ChronoUnit.DAYS);
+                    fechaI = month.toString();
+                    fechaF = month.plus(30, ChronoUnit.DAYS).toString();
+                    break;
+                default:
+                    int from = 1000 + random.nextInt(55) * 1000;
+                    totalI = String.valueOf(from);
+                    totalF = String.valueOf(from + 2000);
+                    break;
+            }
+            return (
+                "id=0&totalI=" +
+                totalI +
+                "&totalF=" +
+                totalF +
+                "&fechaI=" +
+                encode(fechaI) +
+                "&fechaF=" +
+                encode(fechaF) +
+                "&idC=" +
+                idC +
+                "&idE=" +
+                idE +
+                "&count=ESTIMATE&page=0&size=20&sort=fecha,desc"
+            );
+        }
+
+        // The ventas of the load test have no vehicles, so creating and updating them never moves the seeded coches and motos
+        private Map<String, Object> venta(Long id) {
+            Map<String, Object> venta = new LinkedHashMap<>();
+            venta.put("id", id);
+            venta.put("total", 1000 + random.nextInt(60000));
+            venta.put("fecha", Instant.now().toString());
+            venta.put("cliente", Map.of("id", settings.idBase + random.nextInt(settings.clientes)));
+            venta.put("empleado", Map.of("id", settings.idBase + random.nextInt(settings.empleados)));
+            venta.put("coches", List.of());
+            venta.put("motos", List.of());
+            return venta;
+        }
+
+        private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+            return send(request(path).GET());
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest
+                .newBuilder(URI.create(settings.baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpRequest.BodyPublisher json(Object body) throws IOException {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
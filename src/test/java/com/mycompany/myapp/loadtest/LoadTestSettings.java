@@ -0,0 +1,56 @@
+package com.mycompany.myapp.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link LoadTestRunner}, read from {@code -Dloadtest.*} system properties. The seed sizes must match the
+ * {@code loadtest.*} parameters the database was seeded with.
+ */
+class LoadTestSettings {
+
+    final String baseUrl = property("baseUrl", "http://localhost:8080");
+
+    final String username = property("username", "admin");
+
+    final String password = property("password", "admin");
+
+    /**
+     * Concurrent virtual users, each one sending its next request as soon as the previous one is answered.
+     */
+    final int users = Integer.parseInt(property("users", "20"));
+
+    /**
+     * Time spent before measuring, to let the JIT, the connection pool and the caches warm up.
+     */
+    final Duration warmup = Duration.parse(property("warmup", "PT30S"));
+
+    final Duration duration = Duration.parse(property("duration", "PT2M"));
+
+    final String result = property("result", "target/loadtest-result.json");
+
+    final long idBase = Long.parseLong(property("idBase", "1000000000"));
+
+    final int empleados = Integer.parseInt(property("empleados", "200"));
+
+    final int clientes = Integer.parseInt(property("clientes", "20000"));
+
+    final int ventas = Integer.parseInt(property("ventas", "500000"));
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "baseUrl=%s, users=%d, warmup=%s, duration=%s, empleados=%d, clientes=%d, ventas=%d",
+            baseUrl,
+            users,
+            warmup,
+            duration,
+            empleados,
+            clientes,
+            ventas
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.mycompany.myapp.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} recording the SQL Hibernate prepares on the current thread while {@link #capture(Runnable)} runs,
+ * so tests can check the statements the query services actually generate. Registered with
+ * {@code hibernate.session_factory.statement_inspector} in the test configuration.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * @param action the code whose statements are recorded.
+     * @return the SQL of the statements prepared by the action, in order.
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,207 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Moto;
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.service.CocheQueryService;
+import com.mycompany.myapp.service.MotoQueryService;
+import com.mycompany.myapp.service.VentaQueryService;
+import com.mycompany.myapp.service.criteria.CocheCriteria;
+import com.mycompany.myapp.service.criteria.IdFilter;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import com.mycompany.myapp.service.criteria.MotoCriteria;
+import com.mycompany.myapp.service.criteria.VentaCriteria;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking, through EXPLAIN, that the queries the *QueryService classes generate for the get-*-by-filter
+ * endpoints are served by an index. The SQL is captured with {@link CapturingStatementInspector} and its parameters are bound
+ * again for the EXPLAIN. Runs against H2 by default and against MySQL with the {@code testcontainers} profile.
+ */
+@IntegrationTest
+@Transactional
+class FilterIndexIT {
+
+    private static final int ROWS = 40;
+
+    private static final int FIRST_YEAR = 2000;
+
+    private static final Instant FECHA_I = year(2020);
+    private static final Instant FECHA_F = year(2021);
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private VentaQueryService ventaQueryService;
+
+    @Autowired
+    private CocheQueryService cocheQueryService;
+
+    @Autowired
+    private MotoQueryService motoQueryService;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean mysql;
+
+    private Venta venta;
+
+    @BeforeEach
+    public void setup() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        mysql = product.toLowerCase().contains("mysql");
+        // Some rows spread over the years, so the optimizer has statistics on which a narrow range is selective
+        List<Venta> ventas = IntStream
+            .range(0, ROWS)
+            .mapToObj(i -> new Venta().fecha(year(FIRST_YEAR + i)).total(100D * (i + 1)))
+            .collect(Collectors.toList());
+        ventaRepository.saveAll(ventas);
+        venta = ventas.get(0);
+        for (int i = 0; i < ROWS; i++) {
+            Venta vendida = i < 2 ? venta : null;
+            cocheRepository.save(
+                new Coche().color("Rojo").modelo("Ibiza").marca("Seat").anio(year(FIRST_YEAR + i)).precio(1000D * (i + 1)).venta(vendida)
+            );
+            motoRepository.save(
+                new Moto().color("Rojo").modelo("MT-07").marca("Yamaha").anio(year(FIRST_YEAR + i)).precio(1000D * (i + 1)).venta(vendida)
+            );
+        }
+        ventaRepository.flush();
+    }
+
+    @Test
+    void salesByDateRangeUseFechaIndex() {
+        VentaCriteria criteria = new VentaCriteria();
+        criteria.fecha().setGreaterThanOrEqual(FECHA_I);
+        criteria.fecha().setLessThanOrEqual(FECHA_F);
+        assertUsesIndex(() -> ventaQueryService.findByCriteria(criteria, PAGE), "venta", "idx_venta__fecha_total", FECHA_I, FECHA_F);
+
+        criteria.total().setGreaterThanOrEqual(10D);
+        assertUsesIndex(() -> ventaQueryService.findByCriteria(criteria, PAGE), "venta", "idx_venta__fecha_total", FECHA_I, FECHA_F);
+    }
+
+    @Test
+    void salesByClienteAndEmpleadoUseForeignKeyIndexes() {
+        VentaCriteria criteria = new VentaCriteria();
+        criteria.fecha().setGreaterThanOrEqual(FECHA_I);
+        criteria.fecha().setLessThanOrEqual(FECHA_F);
+        criteria.setClienteId(IdFilter.of(List.of(1L), IdMatch.EXACT));
+        assertUsesIndex(
+            () -> ventaQueryService.findByCriteria(criteria, PAGE),
+            "venta",
+            "idx_venta__cliente_id_fecha",
+            FECHA_I,
+            FECHA_F
+        );
+
+        criteria.setClienteId(null);
+        criteria.setEmpleadoId(IdFilter.of(List.of(1L, 2L), IdMatch.EXACT));
+        assertUsesIndex(
+            () -> ventaQueryService.findByCriteria(criteria, PAGE),
+            "venta",
+            "idx_venta__empleado_id_fecha",
+            FECHA_I,
+            FECHA_F
+        );
+    }
+
+    @Test
+    void cochesByAnioPrecioAndVentaUseIndexes() {
+        CocheCriteria criteria = new CocheCriteria();
+        criteria.anio().setGreaterThanOrEqual(FECHA_I);
+        criteria.anio().setLessThanOrEqual(FECHA_F);
+        criteria.precio().setLessThanOrEqual(1000D);
+        assertUsesIndex(() -> cocheQueryService.findByCriteria(criteria, PAGE), "coche", "idx_coche__anio_precio", FECHA_I, FECHA_F);
+
+        CocheCriteria byPrecio = new CocheCriteria();
+        byPrecio.precio().setGreaterThanOrEqual(1000D * ROWS);
+        assertUsesIndex(() -> cocheQueryService.findByCriteria(byPrecio, PAGE), "coche", "idx_coche__precio");
+
+        CocheCriteria byVenta = new CocheCriteria();
+        byVenta.setVentaId(IdFilter.of(List.of(venta.getId()), IdMatch.EXACT));
+        byVenta.anio().setGreaterThanOrEqual(FECHA_I);
+        byVenta.anio().setLessThanOrEqual(FECHA_F);
+        assertUsesIndex(() -> cocheQueryService.findByCriteria(byVenta, PAGE), "coche", "idx_coche__venta_id_anio", FECHA_I, FECHA_F);
+    }
+
+    @Test
+    void motosByAnioPrecioAndVentaUseIndexes() {
+        MotoCriteria criteria = new MotoCriteria();
+        criteria.anio().setGreaterThanOrEqual(FECHA_I);
+        criteria.anio().setLessThanOrEqual(FECHA_F);
+        criteria.precio().setLessThanOrEqual(1000D);
+        assertUsesIndex(() -> motoQueryService.findByCriteria(criteria, PAGE), "moto", "idx_moto__anio_precio", FECHA_I, FECHA_F);
+
+        MotoCriteria byPrecio = new MotoCriteria();
+        byPrecio.precio().setGreaterThanOrEqual(1000D * ROWS);
+        assertUsesIndex(() -> motoQueryService.findByCriteria(byPrecio, PAGE), "moto", "idx_moto__precio");
+
+        MotoCriteria byVenta = new MotoCriteria();
+        byVenta.setVentaId(IdFilter.of(List.of(venta.getId()), IdMatch.EXACT));
+        byVenta.anio().setGreaterThanOrEqual(FECHA_I);
+        byVenta.anio().setLessThanOrEqual(FECHA_F);
+        assertUsesIndex(() -> motoQueryService.findByCriteria(byVenta, PAGE), "moto", "idx_moto__venta_id_anio", FECHA_I, FECHA_F);
+    }
+
+    /**
+     * Runs the query, then EXPLAINs the first select it prepared on the table and checks the index the database chose.
+     * Hibernate inlines the numeric literals of the criteria, so only the instants are bound, followed by the page size.
+     */
+    private void assertUsesIndex(Runnable query, String table, String indexName, Instant... instants) {
+        String sql = CapturingStatementInspector
+            .capture(query)
+            .stream()
+            .filter(statement -> statement.toLowerCase().startsWith("select") && statement.toLowerCase().contains(" from " + table))
+            .findFirst()
+            .orElseThrow();
+        int parameterCount = (int) sql.chars().filter(c -> c == '?').count();
+        assertThat(parameterCount).as("parameters of %s", sql).isGreaterThanOrEqualTo(instants.length);
+        List<Object> parameters = Arrays.stream(instants).map(Timestamp::from).collect(Collectors.toCollection(ArrayList::new));
+        while (parameters.size() < parameterCount) {
+            parameters.add(PAGE.getPageSize());
+        }
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters.toArray());
+        // H2 prints the chosen index in the plan text, MySQL in the key column of each table
+        String used = plan
+            .stream()
+            .map(row -> mysql ? String.valueOf(row.get("key")) : row.values().toString())
+            .collect(Collectors.joining(" "))
+            .toLowerCase();
+        assertThat(used).as("EXPLAIN %s", sql).contains(indexName);
+    }
+
+    private static Instant year(int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
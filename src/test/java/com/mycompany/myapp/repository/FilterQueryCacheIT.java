@@ -0,0 +1,63 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Coche_;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests checking that, once the query cache is enabled, repeated filter queries are answered from the
+ * {@link FilterQueryCache#REGION} region.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    }
+)
+class FilterQueryCacheIT {
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void repeatedFilterQueriesHitTheQueryCache() {
+        Specification<Coche> specification = (root, query, builder) -> builder.equal(root.get(Coche_.marca), "FilterQueryCacheIT");
+
+        cocheRepository.findAll(specification, PageRequest.of(0, 20));
+        cocheRepository.findAll(specification, PageRequest.of(0, 20));
+
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryRegionStatistics(FilterQueryCache.REGION).getHitCount()).isEqualTo(1);
+    }
+}
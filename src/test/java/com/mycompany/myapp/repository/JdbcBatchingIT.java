@@ -0,0 +1,86 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Venta;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that bulk inserts are sent to the database in JDBC batches.
+ */
+@IntegrationTest
+class JdbcBatchingIT {
+
+    private static final int ROWS = 60;
+
+    private static final Instant FECHA = Instant.ofEpochMilli(0L);
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @Transactional
+    void cochesInsertsAreBatched() {
+        List<Coche> coches = IntStream.range(0, ROWS).mapToObj(i -> createCoche()).collect(Collectors.toList());
+
+        cocheRepository.saveAll(coches);
+        cocheRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // One prepared statement per batch of 25 plus the id allocations, instead of one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @Transactional
+    void ventasInsertsAreBatched() {
+        List<Venta> ventas = IntStream.range(0, ROWS).mapToObj(i -> createVenta()).collect(Collectors.toList());
+
+        ventaRepository.saveAll(ventas);
+        ventaRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    private static Coche createCoche() {
+        return new Coche().color("AAAAAAAAAA").modelo("AAAAAAAAAA").marca("AAAAAAAAAA").anio(FECHA).precio(1D);
+    }
+
+    private static Venta createVenta() {
+        return new Venta().total(1D).fecha(FECHA);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Cost of authenticating a request with {@link JWTFilter}, against the two parses the filter used to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private JWTFilter jwtFilter;
+
+    private String jwt;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private FilterChain filterChain;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        jwtFilter = new JWTFilter(tokenProvider);
+        jwt =
+            tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(
+                    "user",
+                    "user",
+                    Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                ),
+                true
+            );
+        request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        response = new MockHttpServletResponse();
+        filterChain = (servletRequest, servletResponse) -> {};
+    }
+
+    /**
+     * What the filter did before: validate, then parse again to build the authentication.
+     */
+    @Benchmark
+    public Authentication validateThenGetAuthentication() {
+        return tokenProvider.validateToken(jwt) ? tokenProvider.getAuthentication(jwt) : null;
+    }
+
+    /**
+     * A single parse and signature verification.
+     */
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(jwt);
+    }
+
+    /**
+     * The filter with a token it has already verified, the usual case of a logged in user.
+     */
+    @Benchmark
+    public void filterWithVerifiedToken(Blackhole blackhole) throws Exception {
+        jwtFilter.doFilter(request, response, filterChain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Cost of issuing and reading the JWT tokens of {@link TokenProvider}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private String jwt;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties
+            .getSecurity()
+            .getAuthentication()
+            .getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        authentication =
+            new UsernamePasswordAuthenticationToken(
+                "admin",
+                "admin",
+                Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN), new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            );
+        jwt = tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(jwt);
+    }
+
+    /**
+     * A token which has already been verified, see {@link JWTFilterBenchmark} for the whole filter.
+     */
+    @Benchmark
+    public Authentication authenticateVerifiedToken() {
+        return tokenProvider.authenticate(jwt).orElseThrow();
+    }
+}
@@ -83,6 +83,36 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testAuthenticateRemembersVerifiedTokens() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> first = tokenProvider.authenticate(token);
+        Optional<Authentication> second = tokenProvider.authenticate(token);
+
+        assertThat(tokenProvider.verifiedTokenCount()).isEqualTo(1);
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get()).isNotSameAs(first.get());
+        assertThat(second.get().getName()).isEqualTo("anonymous");
+        assertThat(second.get().getCredentials()).isEqualTo(token);
+        assertThat(second.get().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    @Test
+    void testAuthenticateRejectsInvalidTokens() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String expiredToken = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.authenticate(expiredToken)).isEmpty();
+        assertThat(tokenProvider.authenticate(createTokenWithDifferentSignature())).isEmpty();
+        assertThat(tokenProvider.authenticate(createUnsupportedToken())).isEmpty();
+        assertThat(tokenProvider.authenticate("")).isEmpty();
+        assertThat(tokenProvider.verifiedTokenCount()).isZero();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -0,0 +1,137 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestContextManager;
+
+/**
+ * Cost of {@link CocheService#getCarsByFilter} against the H2 database of the tests, for the usual filter combinations.
+ * <p>
+ * The Spring context is the one of the {@link IntegrationTest}s, loaded once per fork through a {@link TestContextManager}.
+ */
+@IntegrationTest
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CocheFilterBenchmark {
+
+    private static final String[] MARCAS = { "Seat", "Renault", "Peugeot", "Toyota", "Ford", "Kia", "Audi", "Fiat" };
+
+    private static final String[] COLORES = { "Rojo", "Negro", "Blanco", "Gris", "Azul" };
+
+    @Param({ "10000" })
+    private int rows;
+
+    @Param({ "EXACT", "NONE" })
+    private CountMode countMode;
+
+    @Autowired
+    private CocheService cocheService;
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    private TestContextManager testContextManager;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.by("precio"));
+
+    @Setup
+    public void setup() throws Exception {
+        testContextManager = new TestContextManager(CocheFilterBenchmark.class);
+        testContextManager.prepareTestInstance(this);
+
+        cocheRepository.deleteAllInBatch();
+        List<Coche> batch = new ArrayList<>();
+        Instant anio = Instant.parse("2015-01-01T00:00:00Z");
+        for (int i = 0; i < rows; i++) {
+            batch.add(
+                new Coche()
+                    .color(COLORES[i % COLORES.length])
+                    .modelo("Modelo" + (i % 50))
+                    .marca(MARCAS[i % MARCAS.length])
+                    .anio(anio.plusSeconds(86_400L * (i % 2000)))
+                    .precio(5000D + (i % 400) * 100)
+            );
+            if (batch.size() == 1000) {
+                cocheRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        cocheRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cocheRepository.deleteAllInBatch();
+        testContextManager.getTestContext().markApplicationContextDirty(null);
+    }
+
+    @Benchmark
+    public Slice<Coche> withoutFilter() {
+        return filter("", "", "", 0D, 0D);
+    }
+
+    @Benchmark
+    public Slice<Coche> byMarca() {
+        return filter("", "", "Toyota", 0D, 0D);
+    }
+
+    @Benchmark
+    public Slice<Coche> byMarcaAndColor() {
+        return filter("Rojo", "", "Seat", 0D, 0D);
+    }
+
+    @Benchmark
+    public Slice<Coche> byPrecioRange() {
+        return filter("", "", "", 10000D, 20000D);
+    }
+
+    @Benchmark
+    public Slice<Coche> byModeloAndPrecio() {
+        return filter("", "Modelo1", "", 8000D, 0D);
+    }
+
+    private Slice<Coche> filter(String color, String modelo, String marca, Double precioI, Double precioF) {
+        return cocheService.getCarsByFilter(
+            Collections.emptyList(),
+            color,
+            modelo,
+            marca,
+            null,
+            null,
+            precioI,
+            precioF,
+            Collections.emptyList(),
+            IdMatch.EXACT,
+            countMode,
+            pageable
+        );
+    }
+}
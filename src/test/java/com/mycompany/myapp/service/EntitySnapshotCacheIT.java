@@ -0,0 +1,137 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Cliente;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.repository.ClienteRepository;
+import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.repository.VentaRepository;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@code findOne} caches kept through {@link EntitySnapshotCache}.
+ */
+@IntegrationTest
+@Transactional
+class EntitySnapshotCacheIT {
+
+    @Autowired
+    private CocheService cocheService;
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cliente cliente;
+
+    private Venta venta;
+
+    private Coche coche;
+
+    @BeforeEach
+    public void init() {
+        cliente = clienteRepository.saveAndFlush(new Cliente().nombre("AAAAAAAAAA").apellidos("AAAAAAAAAA").dni("11111111A"));
+        venta = ventaRepository.saveAndFlush(new Venta().total(100D).fecha(Instant.ofEpochMilli(0L)).cliente(cliente));
+        coche = cocheRepository.saveAndFlush(
+            new Coche().color("AAAAAAAAAA").modelo("AAAAAAAAAA").marca("AAAAAAAAAA").precio(1000D).venta(venta)
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).clear();
+        cacheManager.getCache(VentaService.VENTAS_BY_ID_CACHE).clear();
+        cacheManager.getCache(ClienteService.CLIENTES_BY_ID_CACHE).clear();
+    }
+
+    @Test
+    void findOneCachesASnapshotAndReturnsACopy() {
+        Coche first = cocheService.findOne(coche.getId()).orElseThrow();
+        Coche second = cocheService.findOne(coche.getId()).orElseThrow();
+
+        assertThat(cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).get(coche.getId())).isNotNull();
+        assertThat(second).isNotSameAs(first).isEqualTo(coche);
+        assertThat(second.getMarca()).isEqualTo("AAAAAAAAAA");
+        assertThat(second.getVenta().getTotal()).isEqualTo(100D);
+
+        // Changing the copy does not change the cached snapshot
+        first.setMarca("BBBBBBBBBB");
+        assertThat(cocheService.findOne(coche.getId()).orElseThrow().getMarca()).isEqualTo("AAAAAAAAAA");
+    }
+
+    @Test
+    void missingEntitiesAreNotCached() {
+        assertThat(cocheService.findOne(Long.MAX_VALUE)).isEmpty();
+
+        assertThat(cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).get(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void writesEvictTheSnapshot() {
+        cocheService.findOne(coche.getId());
+
+        cocheService.partialUpdate(new Coche().id(coche.getId()).marca("BBBBBBBBBB"));
+
+        assertThat(cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).get(coche.getId())).isNull();
+        assertThat(cocheService.findOne(coche.getId()).orElseThrow().getMarca()).isEqualTo("BBBBBBBBBB");
+
+        cocheService.delete(coche.getId());
+
+        assertThat(cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).get(coche.getId())).isNull();
+    }
+
+    @Test
+    void snapshotsCachedByTheWritingTransactionAreEvictedWhenItCompletes() {
+        cocheService.partialUpdate(new Coche().id(coche.getId()).marca("BBBBBBBBBB"));
+        // Cached from the uncommitted state
+        assertThat(cocheService.findOne(coche.getId()).orElseThrow().getMarca()).isEqualTo("BBBBBBBBBB");
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertThat(cacheManager.getCache(CocheService.COCHES_BY_ID_CACHE).get(coche.getId())).isNull();
+    }
+
+    @Test
+    void updatingAVentaEvictsTheSnapshotsOfItsVehicles() {
+        assertThat(cocheService.findOne(coche.getId()).orElseThrow().getVenta().getTotal()).isEqualTo(100D);
+
+        ventaService.partialUpdate(new Venta().id(venta.getId()).total(200D));
+
+        assertThat(cacheManager.getCache(VentaService.VENTAS_BY_ID_CACHE).get(venta.getId())).isNull();
+        assertThat(cocheService.findOne(coche.getId()).orElseThrow().getVenta().getTotal()).isEqualTo(200D);
+    }
+
+    @Test
+    void updatingAClienteEvictsTheSnapshotsOfTheVentas() {
+        assertThat(ventaService.findOne(venta.getId()).orElseThrow().getCliente().getNombre()).isEqualTo("AAAAAAAAAA");
+
+        clienteService.partialUpdate(new Cliente().id(cliente.getId()).nombre("BBBBBBBBBB"));
+
+        assertThat(ventaService.findOne(venta.getId()).orElseThrow().getCliente().getNombre()).isEqualTo("BBBBBBBBBB");
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Unit tests for the {@link VehicleColumns} of the {@link VehicleInventorySnapshot}.
+ */
+class VehicleColumnsTest {
+
+    private static final Instant ANIO = Instant.parse("2020-01-01T00:00:00Z");
+
+    private VehicleColumns columns;
+
+    @BeforeEach
+    public void init() {
+        columns = new VehicleColumns();
+        columns.put(1L, "Rojo", "Ibiza", "Seat", ANIO, 10000D, 7L);
+        columns.put(2L, "Negro", "Leon", "Seat", ANIO.plusSeconds(10), 20000D, null);
+        columns.put(3L, "Rojo", "Clio", "Renault", null, 15000D, null);
+        columns.put(12L, "Azul", "Megane", "Renault", ANIO.plusSeconds(20), 20000D, 8L);
+    }
+
+    @Test
+    void filtersEveryColumn() {
+        VehicleColumns.Filter filter = new VehicleColumns.Filter();
+        filter.color = "ROJ";
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(1L, 3L);
+
+        filter.anioFiltered = true;
+        filter.anioFrom = VehicleColumns.micros(ANIO);
+        // A null anio never matches an anio range, as in the database
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(1L);
+
+        filter = new VehicleColumns.Filter();
+        filter.precioFrom = 15000D;
+        filter.precioTo = 20000D;
+        filter.marca = "seat";
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(2L);
+
+        filter = new VehicleColumns.Filter();
+        filter.venta = VehicleColumns.IdMatcher.in(List.of(7L, 8L));
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(1L, 12L);
+
+        filter = new VehicleColumns.Filter();
+        filter.id = VehicleColumns.IdMatcher.startingWith(1L);
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(1L, 12L);
+    }
+
+    @Test
+    void leavesTheSubstringsWhichDependOnAccentsToTheDatabase() {
+        columns.put(4L, "Blanco", "C3", "Citroën", ANIO, 12000D, null);
+        VehicleColumns.Filter filter = new VehicleColumns.Filter();
+        filter.marca = "citroën";
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(4L);
+
+        // Whether upper(marca) like '%CITROEN%' matches Citroën depends on the collation
+        filter.marca = "citroen";
+        assertThat(columns.find(filter, Pageable.unpaged(), Integer.MAX_VALUE)).isEmpty();
+        filter.marca = "citro";
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(4L);
+    }
+
+    @Test
+    void sortsAndPagesWithTheExactTotal() {
+        Page<Long> page = columns
+            .find(new VehicleColumns.Filter(), PageRequest.of(0, 2, Sort.by(Sort.Order.desc("precio"))), Integer.MAX_VALUE)
+            .orElseThrow();
+
+        assertThat(page.getContent()).containsExactly(2L, 12L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        page =
+            columns.find(new VehicleColumns.Filter(), PageRequest.of(1, 2, Sort.by("anio", "id")), Integer.MAX_VALUE).orElseThrow();
+
+        assertThat(page.getContent()).containsExactly(2L, 12L);
+        assertThat(columns.find(new VehicleColumns.Filter(), PageRequest.of(0, 2, Sort.by("marca")), 0)).isEmpty();
+    }
+
+    @Test
+    void followsUpdatesRemovalsAndReassignments() {
+        columns.put(1L, "Verde", "Ibiza", "Seat", ANIO, 10000D, 7L);
+        columns.remove(2L);
+        columns.setVenta(List.of(3L), 7L);
+        columns.setVenta(List.of(1L), null);
+
+        VehicleColumns.Filter filter = new VehicleColumns.Filter();
+        filter.venta = VehicleColumns.IdMatcher.in(List.of(7L));
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(3L);
+        assertThat(find(new VehicleColumns.Filter(), Pageable.unpaged())).containsExactly(1L, 3L, 12L);
+
+        filter = new VehicleColumns.Filter();
+        filter.color = "verde";
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(1L);
+    }
+
+    @Test
+    void keepsManyRowsAddressableById() {
+        for (long id = 100; id < 10_100; id++) {
+            columns.put(id, "Gris", "Modelo", "Marca", ANIO, id, null);
+        }
+        for (long id = 100; id < 10_100; id += 2) {
+            columns.remove(id);
+        }
+
+        assertThat(columns.size()).isEqualTo(4 + 5_000);
+        VehicleColumns.Filter filter = new VehicleColumns.Filter();
+        filter.id = VehicleColumns.IdMatcher.in(List.of(100L, 101L, 10_099L));
+        assertThat(find(filter, Pageable.unpaged())).containsExactly(101L, 10_099L);
+    }
+
+    private List<Long> find(VehicleColumns.Filter filter, Pageable pageable) {
+        return columns.find(filter, pageable, 2).orElseThrow().getContent();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.service.criteria.CocheCriteria;
+import com.mycompany.myapp.service.criteria.IdMatch;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the filter endpoints answered by the {@link VehicleInventorySnapshot}. The rows are committed, since the
+ * snapshot only follows committed writes.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.inventory-snapshot.enabled=true")
+class VehicleInventorySnapshotIT {
+
+    private static final String MARCA = "Snapauto";
+
+    @Autowired
+    private VehicleInventorySnapshot inventorySnapshot;
+
+    @Autowired
+    private CocheService cocheService;
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    private List<Coche> coches;
+
+    @BeforeEach
+    public void init() {
+        coches =
+            Stream
+                .of(3000D, 1000D, 2000D)
+                .map(precio -> cocheRepository.save(new Coche().color("Gris").modelo("Snapmodelo").marca(MARCA).precio(precio)))
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cocheRepository.deleteAll(coches);
+    }
+
+    @Test
+    void pagesAnsweredByTheSnapshotKeepTheirSortOrder() {
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("precio"));
+        CocheCriteria criteria = new CocheCriteria();
+        criteria.marca().setContains(MARCA);
+        assertThat(inventorySnapshot.findCoches(criteria, pageable)).isPresent();
+
+        Slice<Coche> page = cocheService.getCarsByFilter(
+            List.of(),
+            "",
+            "",
+            MARCA,
+            null,
+            null,
+            0D,
+            0D,
+            List.of(),
+            IdMatch.EXACT,
+            CountMode.EXACT,
+            pageable
+        );
+
+        assertThat(page.getContent()).extracting(Coche::getPrecio).containsExactly(1000D, 2000D, 3000D);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Coche_;
+import com.mycompany.myapp.domain.Moto;
+import com.mycompany.myapp.repository.CocheRepository;
+import com.mycompany.myapp.repository.MotoRepository;
+import com.mycompany.myapp.service.criteria.CocheCriteria;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Integration tests for the {@link VehicleSearchIndex}.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.search.enabled=true")
+@Transactional
+class VehicleSearchIndexIT {
+
+    @Autowired
+    private VehicleSearchIndex searchIndex;
+
+    @Autowired
+    private CocheQueryService cocheQueryService;
+
+    @Autowired
+    private CocheService cocheService;
+
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    private Coche coche;
+
+    @BeforeEach
+    public void init() {
+        coche = cocheRepository.saveAndFlush(new Coche().color("Xyloverde").modelo("Xylomodelo").marca("Xyloauto").precio(1000D));
+        motoRepository.saveAndFlush(new Moto().color("Xyloverde").modelo("Xylomodelo").marca("Xylomoto").precio(1000D));
+    }
+
+    @Test
+    void flushedValuesAreFoundIgnoringCase() {
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("LOAU"), Coche_.marca)).isNotNull();
+
+        assertThat(findByMarca("LOAU")).containsExactly(coche);
+        assertThat(findByMarca("xylo")).containsExactly(coche);
+    }
+
+    @Test
+    void substringsOfNoValueMatchNothing() {
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("QQQXYZ"), Coche_.marca)).isNotNull();
+
+        assertThat(findByMarca("QQQXYZ")).isEmpty();
+        // The marca of the moto is not the one of any coche
+        assertThat(findByMarca("lomoto")).isEmpty();
+    }
+
+    @Test
+    void shortSubstringsAndWildcardsAreLeftToLike() {
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("Xy"), Coche_.marca)).isNull();
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("Xy%uto"), Coche_.marca)).isNull();
+
+        assertThat(findByMarca("Xy%uto")).containsExactly(coche);
+    }
+
+    @Test
+    void updatedValuesAreFoundOnceFlushed() {
+        cocheService.partialUpdate(new Coche().id(coche.getId()).marca("Xylowombat"));
+        cocheRepository.flush();
+
+        assertThat(findByMarca("wombat")).containsExactly(coche);
+        // The old value is only removed once the update is committed
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("loauto"), Coche_.marca)).isNotNull();
+        assertThat(findByMarca("loauto")).isEmpty();
+    }
+
+    @Test
+    void valuesWhichDontFoldToAsciiAreAlwaysCandidates() {
+        Coche ligature = cocheRepository.saveAndFlush(new Coche().color("Xyloverde").modelo("Xylomodelo").marca("Xylæuto").precio(1000D));
+
+        assertThat(findByMarca("loauto")).containsExactly(coche);
+        assertThat(findByMarca("læu")).containsExactly(ligature);
+        assertThat(searchIndex.<Coche>buildContainsSpecification(contains("læu"), Coche_.marca)).isNull();
+    }
+
+    private List<Coche> findByMarca(String substring) {
+        CocheCriteria criteria = new CocheCriteria();
+        criteria.setMarca(contains(substring));
+        return cocheQueryService.findByCriteria(criteria, PageRequest.of(0, 20)).getContent();
+    }
+
+    private static StringFilter contains(String substring) {
+        StringFilter filter = new StringFilter();
+        filter.setContains(substring);
+        return filter;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.dto.UserDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link UserMapper#usersToUserDTOs(List)}, for a page of users and for a whole listing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "1000" })
+    private int users;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> userList;
+
+    @Setup
+    public void setup() {
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user" + i);
+            user.setFirstName("first" + i);
+            user.setLastName("last" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("es");
+            user.setAuthorities(Set.of(authority));
+            userList.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(userList);
+    }
+}
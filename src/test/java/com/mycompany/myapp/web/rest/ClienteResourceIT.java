@@ -415,6 +415,35 @@ class ClienteResourceIT {
         assertThat(clienteList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void getClientsByFilterWithId() throws Exception {
+        // Initialize the database
+        clienteRepository.saveAndFlush(cliente);
+
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/get-clients-by-filter?nombre=&apellidos=&dni=&id=" + cliente.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(cliente.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nombre").value(hasItem(DEFAULT_NOMBRE)));
+
+        // The id is matched exactly unless a prefix search is requested
+        restClienteMockMvc
+            .perform(get(ENTITY_API_URL + "/get-clients-by-filter?nombre=&apellidos=&dni=&id=" + cliente.getId() + "0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+        restClienteMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "/get-clients-by-filter?nombre=&apellidos=&dni=&idMatch=PREFIX&id=" +
+                    cliente.getId().toString().substring(0, 1)
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(cliente.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void deleteCliente() throws Exception {
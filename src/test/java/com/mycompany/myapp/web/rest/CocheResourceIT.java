@@ -1,18 +1,23 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Venta;
 import com.mycompany.myapp.repository.CocheRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -138,6 +143,106 @@ class CocheResourceIT {
         assertThat(cocheList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void bulkImportCochesFromJson() throws Exception {
+        int databaseSizeBeforeCreate = cocheRepository.findAll().size();
+        Coche invalid = createEntity(em).precio(0D);
+        Coche withId = createEntity(em).id(1L);
+
+        restCocheMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(coche, invalid, createUpdatedEntity(em), withId)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].messages[0]").value(startsWith("precio")))
+            .andExpect(jsonPath("$.errors[1].row").value(4));
+
+        List<Coche> cocheList = cocheRepository.findAll();
+        assertThat(cocheList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(cocheList).extracting(Coche::getColor).contains(DEFAULT_COLOR, UPDATED_COLOR);
+    }
+
+    @Test
+    @Transactional
+    void bulkImportCochesFromCsv() throws Exception {
+        int databaseSizeBeforeCreate = cocheRepository.findAll().size();
+        String csv =
+            "color,modelo,marca,anio,precio\n" +
+            DEFAULT_COLOR + "," + DEFAULT_MODELO + "," + DEFAULT_MARCA + "," + DEFAULT_ANIO + "," + DEFAULT_PRECIO + "\n" +
+            UPDATED_COLOR + "," + UPDATED_MODELO + ",," + UPDATED_ANIO + ",not-a-number\n" +
+            UPDATED_COLOR + "," + UPDATED_MODELO + "," + UPDATED_MARCA + ",," + UPDATED_PRECIO + "\n";
+
+        restCocheMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2));
+
+        List<Coche> cocheList = cocheRepository.findAll();
+        assertThat(cocheList).hasSize(databaseSizeBeforeCreate + 2);
+        Coche testCoche = cocheList.get(cocheList.size() - 1);
+        assertThat(testCoche.getMarca()).isEqualTo(UPDATED_MARCA);
+        assertThat(testCoche.getAnio()).isNull();
+        assertThat(testCoche.getPrecio()).isEqualTo(UPDATED_PRECIO);
+    }
+
+    @Test
+    void bulkImportCochesReportsTheRowsTheDatabaseRejects() throws Exception {
+        // Not transactional: every batch commits on its own, so the rows stored are deleted afterwards
+        String marca = "Bulkimport";
+        Coche missingVenta = createEntity(em).marca(marca).venta(new Venta().id(Long.MAX_VALUE));
+        try {
+            restCocheMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(createEntity(em).marca(marca), missingVenta)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value(startsWith("Rejected by a database constraint")));
+
+            assertThat(cocheRepository.findAll()).filteredOn(stored -> marca.equals(stored.getMarca())).hasSize(1);
+        } finally {
+            cocheRepository.deleteAll(
+                cocheRepository.findAll().stream().filter(stored -> marca.equals(stored.getMarca())).collect(Collectors.toList())
+            );
+        }
+    }
+
+    @Test
+    @Transactional
+    void bulkImportCochesRefreshesTheTotalsOfTheirVenta() throws Exception {
+        // Initialize the database
+        Venta venta = VentaResourceIT.createEntity(em);
+        em.persist(venta);
+        em.flush();
+
+        restCocheMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(coche.venta(venta), createUpdatedEntity(em).venta(venta))))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2));
+
+        // Validate the derived columns of the Venta
+        Venta testVenta = em.find(Venta.class, venta.getId());
+        assertThat(testVenta.getVehicleCount()).isEqualTo(2);
+        assertThat(testVenta.getComputedTotal()).isEqualTo(DEFAULT_PRECIO + UPDATED_PRECIO);
+    }
+
     @Test
     @Transactional
     void checkColorIsRequired() throws Exception {
@@ -244,6 +349,61 @@ class CocheResourceIT {
             .andExpect(jsonPath("$.precio").value(DEFAULT_PRECIO.doubleValue()));
     }
 
+    @Test
+    @Transactional
+    void exportCarsByFilterAsNdjson() throws Exception {
+        // Initialize the database
+        cocheRepository.saveAndFlush(coche);
+        Coche other = cocheRepository.saveAndFlush(createUpdatedEntity(em));
+
+        String fechas = "&fechaI=" + DEFAULT_ANIO + "&fechaF=" + UPDATED_ANIO;
+        String filter = "id=0&color=&modelo=&marca=" + DEFAULT_MARCA + fechas + "&precioI=0&precioF=0&venta=0";
+
+        restCocheMockMvc
+            .perform(get(ENTITY_API_URL + "/get-cars-by-filter/export?format=NDJSON&sort=id&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(containsString("{\"id\":" + coche.getId() + ",\"color\":\"" + DEFAULT_COLOR + "\"")))
+            .andExpect(content().string(not(containsString("\"id\":" + other.getId() + ","))));
+    }
+
+    @Test
+    @Transactional
+    void getAllCocheSummaries() throws Exception {
+        // Initialize the database
+        cocheRepository.saveAndFlush(coche);
+
+        restCocheMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", String.valueOf(cocheRepository.count())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(coche.getId().intValue())))
+            .andExpect(jsonPath("$.[*].color").value(hasItem(DEFAULT_COLOR)))
+            .andExpect(jsonPath("$.[*].marca").value(hasItem(DEFAULT_MARCA)))
+            .andExpect(jsonPath("$.[*].anio").value(hasItem(DEFAULT_ANIO.toString())))
+            .andExpect(jsonPath("$.[*].precio").value(hasItem(DEFAULT_PRECIO.doubleValue())))
+            .andExpect(jsonPath("$.[*].venta").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getCarSummariesByFilter() throws Exception {
+        // Initialize the database
+        cocheRepository.saveAndFlush(coche);
+        Coche other = cocheRepository.saveAndFlush(createUpdatedEntity(em));
+
+        String fechas = "&fechaI=" + DEFAULT_ANIO + "&fechaF=" + UPDATED_ANIO;
+        String filter = "id=0&color=&modelo=&marca=" + DEFAULT_MARCA + fechas + "&precioI=0&precioF=0&venta=0";
+
+        restCocheMockMvc
+            .perform(get(ENTITY_API_URL + "/get-cars-by-filter/summaries?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(coche.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].modelo").value(hasItem(DEFAULT_MODELO)));
+    }
+
     @Test
     @Transactional
     void getNonExistingCoche() throws Exception {
@@ -373,6 +533,32 @@ class CocheResourceIT {
         assertThat(testCoche.getPrecio()).isEqualTo(UPDATED_PRECIO);
     }
 
+    @Test
+    @Transactional
+    void partialUpdateCochePrecioRefreshesTheTotalsOfItsVenta() throws Exception {
+        // Initialize the database
+        Venta venta = VentaResourceIT.createEntity(em);
+        em.persist(venta);
+        cocheRepository.saveAndFlush(coche.venta(venta));
+
+        // Update the precio of the coche using partial update
+        Coche partialUpdatedCoche = new Coche();
+        partialUpdatedCoche.setId(coche.getId());
+        partialUpdatedCoche.precio(UPDATED_PRECIO);
+
+        restCocheMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedCoche.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCoche))
+            )
+            .andExpect(status().isOk());
+
+        // Validate the derived columns of the Venta
+        assertThat(venta.getVehicleCount()).isEqualTo(1);
+        assertThat(venta.getComputedTotal()).isEqualTo(UPDATED_PRECIO);
+    }
+
     @Test
     @Transactional
     void fullUpdateCocheWithPatch() throws Exception {
@@ -2,6 +2,7 @@ package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -128,6 +129,31 @@ class MotoResourceIT {
         assertThat(motoList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void bulkImportMotosFromJson() throws Exception {
+        int databaseSizeBeforeCreate = motoRepository.findAll().size();
+        Moto invalid = createEntity(em).precio(0D);
+        Moto withId = createEntity(em).id(1L);
+
+        restMotoMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(moto, invalid, createUpdatedEntity(em), withId)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].messages[0]").value(startsWith("precio")))
+            .andExpect(jsonPath("$.errors[1].row").value(4));
+
+        List<Moto> motoList = motoRepository.findAll();
+        assertThat(motoList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(motoList).extracting(Moto::getColor).contains(DEFAULT_COLOR, UPDATED_COLOR);
+    }
+
     @Test
     @Transactional
     void checkColorIsRequired() throws Exception {
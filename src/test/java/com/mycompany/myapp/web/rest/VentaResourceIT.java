@@ -1,23 +1,38 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ThreadLocalStatistics;
+import com.mycompany.myapp.domain.Cliente;
+import com.mycompany.myapp.domain.Coche;
+import com.mycompany.myapp.domain.Empleado;
 import com.mycompany.myapp.domain.Venta;
+import com.mycompany.myapp.repository.CocheRepository;
 import com.mycompany.myapp.repository.VentaRepository;
+import com.mycompany.myapp.service.CocheService;
+import com.mycompany.myapp.service.VentaStatsService;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -37,6 +52,12 @@ class VentaResourceIT {
     private static final Instant DEFAULT_FECHA = Instant.ofEpochMilli(0L);
     private static final Instant UPDATED_FECHA = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 
+    /**
+     * SQL statements a page of ventas may need: the page, with its clientes and empleados, and its count; or, without the count,
+     * the page and a batch of clientes and another of empleados. One more select per row is an N+1.
+     */
+    private static final int MAX_STATEMENTS_PER_PAGE = 3;
+
     private static final String ENTITY_API_URL = "/api/ventas";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -46,6 +67,15 @@ class VentaResourceIT {
     @Autowired
     private VentaRepository ventaRepository;
 
+    @Autowired
+    private CocheRepository cocheRepository;
+
+    @Autowired
+    private CocheService cocheService;
+
+    @Autowired
+    private VentaStatsService ventaStatsService;
+
     @Autowired
     private EntityManager em;
 
@@ -149,6 +179,65 @@ class VentaResourceIT {
             .andExpect(jsonPath("$.[*].fecha").value(hasItem(DEFAULT_FECHA.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllVentasFetchesTheClientesAndEmpleadosWithThePage() throws Exception {
+        // Initialize the database
+        initVentasWithClienteAndEmpleado(25);
+
+        assertPageOfVentasWithinStatementLimit(ENTITY_API_URL + "?sort=id,desc&size=20");
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterFetchesTheClientesAndEmpleadosWithThePage() throws Exception {
+        // Initialize the database
+        initVentasWithClienteAndEmpleado(25);
+
+        String filter = "id=0&totalI=0&totalF=0&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0&sort=id,desc&size=20";
+        assertPageOfVentasWithinStatementLimit(ENTITY_API_URL + "/get-sales-by-filter?" + filter);
+        assertPageOfVentasWithinStatementLimit(ENTITY_API_URL + "/get-sales-by-filter?count=NONE&" + filter);
+    }
+
+    @Test
+    @Transactional
+    void getAllVentaSummaries() throws Exception {
+        // Initialize the database
+        Cliente cliente = ClienteResourceIT.createEntity(em);
+        em.persist(cliente);
+        ventaRepository.saveAndFlush(venta.cliente(cliente));
+        cocheService.save(CocheResourceIT.createEntity(em).venta(venta));
+        em.flush();
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$[0].id").value(venta.getId().intValue()))
+            .andExpect(jsonPath("$[0].total").value(DEFAULT_TOTAL.doubleValue()))
+            .andExpect(jsonPath("$[0].fecha").value(DEFAULT_FECHA.toString()))
+            .andExpect(jsonPath("$[0].clienteId").value(cliente.getId().intValue()))
+            .andExpect(jsonPath("$[0].clienteNombre").value(cliente.getNombre() + " " + cliente.getApellidos()))
+            .andExpect(jsonPath("$[0].vehicleCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getSaleSummariesByFilter() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+        Venta other = ventaRepository.saveAndFlush(createEntity(em).total(UPDATED_TOTAL));
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter/summaries?sort=id,desc&id=0&totalI=0&totalF=" + DEFAULT_TOTAL + fechas))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(venta.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].vehicleCount").value(hasItem(0)));
+    }
+
     @Test
     @Transactional
     void getVenta() throws Exception {
@@ -202,6 +291,49 @@ class VentaResourceIT {
         assertThat(testVenta.getFecha()).isEqualTo(UPDATED_FECHA);
     }
 
+    @Test
+    @Transactional
+    void putVentaReassignsOnlyChangedCoches() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+        Coche kept = CocheResourceIT.createEntity(em).venta(venta);
+        Coche removed = CocheResourceIT.createEntity(em).venta(venta);
+        Coche added = CocheResourceIT.createEntity(em);
+        cocheRepository.saveAndFlush(kept);
+        cocheRepository.saveAndFlush(removed);
+        cocheRepository.saveAndFlush(added);
+
+        // Update the venta with one coche kept, one removed and one added
+        Venta updatedVenta = new Venta().id(venta.getId()).total(UPDATED_TOTAL).fecha(UPDATED_FECHA);
+        updatedVenta.getCoches().add(new Coche().id(kept.getId()));
+        updatedVenta.getCoches().add(new Coche().id(added.getId()));
+
+        restVentaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedVenta.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedVenta))
+            )
+            .andExpect(status().isOk());
+
+        // Validate the coches of the Venta in the database
+        assertThat(cocheRepository.getCocheIdsByVentaId(venta.getId())).containsExactlyInAnyOrder(kept.getId(), added.getId());
+
+        // Validate the derived columns of the Venta, updated with the coches
+        Venta testVenta = ventaRepository.findById(venta.getId()).get();
+        assertThat(testVenta.getVehicleCount()).isEqualTo(2);
+        assertThat(testVenta.getComputedTotal()).isEqualTo(kept.getPrecio() + added.getPrecio());
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?vehicleCount.greaterThanOrEqual=2&sort=computedTotal,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(venta.getId().intValue())))
+            .andExpect(jsonPath("$.[*].computedTotal").value(hasItem(kept.getPrecio() + added.getPrecio())));
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?vehicleCount.greaterThan=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(venta.getId().intValue()))));
+    }
+
     @Test
     @Transactional
     void putNonExistingVenta() throws Exception {
@@ -374,6 +506,284 @@ class VentaResourceIT {
         assertThat(ventaList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void getSalesByFilterOnlyDateRange() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        defaultVentaShouldBeFound("id=0&totalI=0&totalF=0&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0");
+        defaultVentaShouldNotBeFound(
+            "id=0&totalI=0&totalF=0&fechaI=" + DEFAULT_FECHA.plusSeconds(1) + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0"
+        );
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithTotalRange() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+
+        // Only lower bound
+        defaultVentaShouldBeFound("id=0&totalI=" + DEFAULT_TOTAL + "&totalF=0" + fechas);
+        defaultVentaShouldNotBeFound("id=0&totalI=" + UPDATED_TOTAL + "&totalF=0" + fechas);
+
+        // Only upper bound
+        defaultVentaShouldBeFound("id=0&totalI=0&totalF=" + DEFAULT_TOTAL + fechas);
+        defaultVentaShouldNotBeFound("id=0&totalI=0&totalF=" + (DEFAULT_TOTAL / 2) + fechas);
+
+        // Both bounds
+        defaultVentaShouldBeFound("id=0&totalI=" + DEFAULT_TOTAL + "&totalF=" + UPDATED_TOTAL + fechas);
+        defaultVentaShouldNotBeFound("id=0&totalI=" + UPDATED_TOTAL + "&totalF=" + (UPDATED_TOTAL + 1) + fechas);
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithId() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+
+        defaultVentaShouldBeFound("id=" + venta.getId() + "&totalI=0&totalF=0" + fechas);
+        defaultVentaShouldNotBeFound("id=" + count.incrementAndGet() + "&totalI=0&totalF=0" + fechas);
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithIdList() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+
+        defaultVentaShouldBeFound("id=" + venta.getId() + "," + count.incrementAndGet() + "&totalI=0&totalF=0" + fechas);
+        defaultVentaShouldNotBeFound("id=" + count.incrementAndGet() + "," + count.incrementAndGet() + "&totalI=0&totalF=0" + fechas);
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithIdPrefix() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+        String prefix = venta.getId().toString().substring(0, 1);
+
+        // An exact match only finds the full id
+        defaultVentaShouldNotBeFound("id=" + venta.getId() + "9&totalI=0&totalF=0" + fechas);
+        defaultVentaShouldBeFound("id=" + prefix + "&totalI=0&totalF=0" + fechas + "&idMatch=PREFIX");
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithCursor() throws Exception {
+        // Initialize the database
+        Venta first = ventaRepository.saveAndFlush(createEntity(em).total(3D));
+        Venta last = ventaRepository.saveAndFlush(createEntity(em).total(1D));
+        Venta second = ventaRepository.saveAndFlush(createEntity(em).total(2D));
+
+        String filter =
+            "id=" + first.getId() + "," + last.getId() + "," + second.getId() +
+            "&totalI=0&totalF=0&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0&sort=total,desc&size=2";
+
+        String cursor = restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?cursor=&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotEmpty();
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?cursor=" + cursor + "&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(jsonPath("$.[*].id").value(contains(last.getId().intValue())));
+
+        // A cursor can't be reused with another sort
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?cursor=" + cursor + "&" + filter.replace("total,desc", "fecha,desc")))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getSalesByFilterWithoutExactCount() throws Exception {
+        // Initialize the database
+        Venta first = ventaRepository.saveAndFlush(createEntity(em).total(3D));
+        Venta last = ventaRepository.saveAndFlush(createEntity(em).total(1D));
+        Venta second = ventaRepository.saveAndFlush(createEntity(em).total(2D));
+
+        String filter =
+            "id=" + first.getId() + "," + last.getId() + "," + second.getId() +
+            "&totalI=0&totalF=0&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0&sort=total,desc&size=2";
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?count=NONE&page=0&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("X-Has-Next", "true"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())));
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?count=ESTIMATE&page=0&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(header().string("X-Total-Count-Approximate", "true"));
+
+        // The last page knows its total without counting
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?count=ESTIMATE&page=1&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(header().string("X-Total-Count-Approximate", "false"))
+            .andExpect(jsonPath("$.[*].id").value(contains(last.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void exportSalesByFilterAsCsv() throws Exception {
+        // Initialize the database
+        ventaRepository.saveAndFlush(venta);
+
+        String fechas = "&fechaI=" + DEFAULT_FECHA + "&fechaF=" + UPDATED_FECHA + "&idC=0&idE=0";
+
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter/export?sort=id,desc&id=" + venta.getId() + "&totalI=0&totalF=0" + fechas))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ventas.csv\""))
+            .andExpect(content().string(startsWith("id,total,fecha,clienteId,empleadoId\n")))
+            .andExpect(content().string(containsString(venta.getId() + "," + DEFAULT_TOTAL + "," + DEFAULT_FECHA + ",,")));
+    }
+
+    @Test
+    @Transactional
+    void getSalesStatsFromTheRollups() throws Exception {
+        Empleado empleado = EmpleadoResourceIT.createEntity(em);
+        em.persist(empleado);
+        Instant marzo = Instant.parse("2099-03-01T10:00:00Z");
+        Instant abril = Instant.parse("2099-04-01T10:00:00Z");
+        for (Venta nueva : List.of(
+            new Venta().total(10D).fecha(marzo).empleado(empleado),
+            new Venta().total(30D).fecha(marzo.plus(1, ChronoUnit.DAYS)).empleado(empleado),
+            new Venta().total(5D).fecha(abril)
+        )) {
+            restVentaMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(nueva)))
+                .andExpect(status().isCreated());
+        }
+        Venta last = ventaRepository.findAll().stream().filter(v -> abril.equals(v.getFecha())).findFirst().orElseThrow();
+
+        String months = ENTITY_API_URL + "/stats?groupBy=MONTH&from=2099-01-01&to=2099-12-31";
+        restVentaMockMvc
+            .perform(get(months))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].period").value(contains("2099-03", "2099-04")))
+            .andExpect(jsonPath("$.[0].count").value(2))
+            .andExpect(jsonPath("$.[0].revenue").value(40D))
+            .andExpect(jsonPath("$.[0].average").value(20D));
+        restVentaMockMvc
+            .perform(get(months + "&size=1&page=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].period").value(contains("2099-04")));
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?groupBy=DAY&from=2099-03-02&to=2099-03-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].period").value(contains("2099-03-02")));
+
+        // Moving a venta to another month and deleting another one are reflected, before and after the compaction
+        restVentaMockMvc
+            .perform(delete(ENTITY_API_URL_ID, last.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNoContent());
+        Venta first = ventaRepository.findAll().stream().filter(v -> marzo.equals(v.getFecha())).findFirst().orElseThrow();
+        restVentaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, first.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(new Venta().id(first.getId()).fecha(abril)))
+            )
+            .andExpect(status().isOk());
+        ventaStatsService.compact();
+
+        restVentaMockMvc
+            .perform(get(months))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].period").value(contains("2099-03", "2099-04")))
+            .andExpect(jsonPath("$.[*].count").value(contains(1, 1)))
+            .andExpect(jsonPath("$.[*].revenue").value(contains(30D, 10D)));
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?groupBy=EMPLEADO&size=2000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.empleadoId == " + empleado.getId() + ")].revenue").value(contains(40D)));
+        restVentaMockMvc.perform(get(ENTITY_API_URL + "/stats?groupBy=CLIENTE&from=2099-01-01")).andExpect(status().isBadRequest());
+    }
+
+    private void initVentasWithClienteAndEmpleado(int ventas) {
+        for (int i = 0; i < ventas; i++) {
+            Cliente cliente = ClienteResourceIT.createEntity(em);
+            em.persist(cliente);
+            Empleado empleado = EmpleadoResourceIT.createEntity(em);
+            em.persist(empleado);
+            ventaRepository.save(createEntity(em).cliente(cliente).empleado(empleado));
+        }
+        em.flush();
+    }
+
+    /**
+     * Reads a page of 20 ventas from a cleared persistence context, and checks it stays within {@link #MAX_STATEMENTS_PER_PAGE}.
+     */
+    private void assertPageOfVentasWithinStatementLimit(String url) throws Exception {
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long statements = ThreadLocalStatistics.statementCount();
+            restVentaMockMvc
+                .perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(20)))
+                .andExpect(jsonPath("$.[*].cliente.id", hasSize(20)))
+                .andExpect(jsonPath("$.[*].empleado.id", hasSize(20)));
+            assertThat(ThreadLocalStatistics.statementCount() - statements).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultVentaShouldBeFound(String filter) throws Exception {
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(venta.getId().intValue())))
+            .andExpect(jsonPath("$.[*].total").value(hasItem(DEFAULT_TOTAL.doubleValue())))
+            .andExpect(jsonPath("$.[*].fecha").value(hasItem(DEFAULT_FECHA.toString())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultVentaShouldNotBeFound(String filter) throws Exception {
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/get-sales-by-filter?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
     @Test
     @Transactional
     void deleteVenta() throws Exception {
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.myapp.IntegrationTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ResourceMetricsInterceptor}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ResourceMetricsInterceptorIT {
+
+    private static final String FILTER_URL =
+        "/api/coches/get-cars-by-filter?id=0&color=&modelo=&precioI=0&precioF=0&venta=0&fechaI=" +
+        Instant.EPOCH +
+        "&fechaF=" +
+        Instant.parse("2030-01-01T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional
+    void tagsTheRequestsWithTheFiltersAndPageSize() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            mockMvc.perform(get(FILTER_URL + "&marca=Seat&idMatch=EXACT&size=70")).andExpect(status().isOk());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        Timer timer = meterRegistry
+            .find(ResourceMetricsInterceptor.REQUESTS_METER)
+            .tags("endpoint", "CocheResource.getCarsByFilter", "filters", "marca,fechaI,fechaF", "size", "<=100", "status", "200")
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        DistributionSummary statements = meterRegistry
+            .find(ResourceMetricsInterceptor.STATEMENTS_METER)
+            .tags("endpoint", "CocheResource.getCarsByFilter", "filters", "marca,fechaI,fechaF", "size", "<=100")
+            .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ResourceMetricsInterceptor.ROWS_METER).tags("endpoint", "CocheResource.getCarsByFilter").summary())
+            .isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void bucketsThePageSize() throws Exception {
+        mockMvc.perform(get(FILTER_URL + "&marca=Seat&size=500")).andExpect(status().isOk());
+
+        assertThat(
+            meterRegistry
+                .find(ResourceMetricsInterceptor.REQUESTS_METER)
+                .tags("endpoint", "CocheResource.getCarsByFilter", "filters", "marca,fechaI,fechaF", "size", ">100")
+                .timer()
+        )
+            .isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void tagsRequestsWithoutFiltersOrPaging() throws Exception {
+        mockMvc.perform(get("/api/coches/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertThat(
+            meterRegistry
+                .find(ResourceMetricsInterceptor.REQUESTS_METER)
+                .tags("endpoint", "CocheResource.getCoche", "filters", "none", "size", "none", "status", "404")
+                .timer()
+        )
+            .isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void doesNotPublishTheJdbcMetersWithoutStatistics() throws Exception {
+        mockMvc.perform(get("/api/motos/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.find(ResourceMetricsInterceptor.REQUESTS_METER).tags("endpoint", "MotoResource.getMoto").timer())
+            .isNotNull();
+        assertThat(meterRegistry.find(ResourceMetricsInterceptor.STATEMENTS_METER).tags("endpoint", "MotoResource.getMoto").summary())
+            .isNull();
+        assertThat(meterRegistry.find(ResourceMetricsInterceptor.ROWS_METER).tags("endpoint", "MotoResource.getMoto").summary()).isNull();
+    }
+}